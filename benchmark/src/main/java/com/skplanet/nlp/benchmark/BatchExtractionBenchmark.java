@@ -0,0 +1,75 @@
+package com.skplanet.nlp.benchmark;
+
+import com.skplanet.nlp.keywordextractor.KeywordExtractionImpl;
+import com.skplanet.nlp.keywordextractor.KeywordResult;
+import com.skplanet.nlp.keywordextractor.NLPKeywordExtraction;
+import com.skplanet.nlp.stopword.StopwordSplitters;
+import com.skplanet.nlp.util.InMemoryMorphAnalyzer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ *     Bulk extraction : extractBatch() against one extract(text, topK) per document
+ * <br>
+ *     Time is per batch; run with -prof gc and compare gc.alloc.rate.norm for the allocation per batch.
+ *     The nlp extractor reads rake.properties and stopword.kr through Configuration, so config/ and resource/
+ *     must be on the classpath as directories.
+ * <br>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchExtractionBenchmark {
+
+    private static final int DOCUMENTS = 100;
+    private static final int TOP_K = 20;
+
+    @Param({"50", "500"})
+    public int words;
+
+    @Param({"simple", "nlp"})
+    public String extractorName;
+
+    private KeywordExtractionImpl extractor;
+    private List<String> documents;
+
+    @Setup
+    public void setup() throws IOException {
+        List<String> stopwords = BenchmarkData.stopwords("stopword.kr", 0);
+        if ("nlp".equals(this.extractorName)) {
+            NLPKeywordExtraction nlp = new NLPKeywordExtraction(new InMemoryMorphAnalyzer());
+            nlp.init();
+            this.extractor = nlp;
+        } else {
+            this.extractor = new BenchSimpleKeywordExtraction(stopwords, StopwordSplitters.TRIE);
+        }
+        this.documents = BenchmarkData.documents(DOCUMENTS, this.words, stopwords);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (this.extractor instanceof NLPKeywordExtraction) {
+            ((NLPKeywordExtraction) this.extractor).close();
+        }
+    }
+
+    @Benchmark
+    public void extractEach(Blackhole bh) {
+        for (String document : this.documents) {
+            bh.consume(this.extractor.extract(document, TOP_K));
+        }
+    }
+
+    @Benchmark
+    public List<KeywordResult> extractBatch() {
+        return this.extractor.extractBatch(this.documents, TOP_K);
+    }
+}
@@ -0,0 +1,17 @@
+package com.skplanet.nlp.benchmark;
+
+import com.skplanet.nlp.keywordextractor.SimpleKeywordExtraction;
+
+import java.util.List;
+
+/**
+ * SimpleKeywordExtraction built from an in-memory stopword list instead of rake.properties and the classpath
+ */
+final class BenchSimpleKeywordExtraction extends SimpleKeywordExtraction {
+
+    BenchSimpleKeywordExtraction(List<String> stopwords, String engine) {
+        this.stopwordList.addAll(stopwords);
+        this.splitterEngine = engine;
+        buildStopWordRegex();
+    }
+}
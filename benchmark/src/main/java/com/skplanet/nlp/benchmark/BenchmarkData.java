@@ -0,0 +1,184 @@
+package com.skplanet.nlp.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * <br>
+ *     Benchmark Input Data
+ * <br>
+ *     Stopwords and stoptags come from the bundled stopword.kr / stopword.jp and rake.properties,
+ *     documents are generated deterministically from a fixed seed so every run sees the same input.
+ * <br>
+ */
+public final class BenchmarkData {
+
+    // fraction of words drawn from the stopword list
+    private static final double STOPWORD_RATIO = 0.3;
+    // average number of words per sentence
+    private static final int SENTENCE_LENGTH = 12;
+    // number of distinct content words
+    private static final int VOCABULARY = 2000;
+
+    private static final long SEED = 20140618L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Load stopwords from a bundled dictionary, the same way the extractors do
+     * @param name dictionary resource name, e.g. stopword.kr
+     * @param count maximum number of stopwords, 0 for all
+     * @return stopword list
+     */
+    public static List<String> stopwords(String name, int count) throws IOException {
+        InputStream in = BenchmarkData.class.getClassLoader().getResourceAsStream(name);
+        if (in == null) {
+            throw new IOException("resource not found : " + name);
+        }
+        List<String> stopwords = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() == 0 || line.startsWith("#")) {
+                    continue;
+                }
+                stopwords.add(line.trim().toLowerCase());
+                if (count > 0 && stopwords.size() == count) {
+                    break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return stopwords;
+    }
+
+    /**
+     * Load STOPTAG of the bundled rake.properties
+     * @return stoptag list
+     */
+    public static List<String> stoptags() throws IOException {
+        InputStream in = BenchmarkData.class.getClassLoader().getResourceAsStream("rake.properties");
+        if (in == null) {
+            throw new IOException("resource not found : rake.properties");
+        }
+        Properties properties = new Properties();
+        try {
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } finally {
+            in.close();
+        }
+        List<String> stoptags = new ArrayList<String>();
+        Collections.addAll(stoptags, properties.getProperty("STOPTAG").split(","));
+        return stoptags;
+    }
+
+    /**
+     * Generate a raw document : content words and stopwords, sentences ended by punctuation
+     * @param words number of words
+     * @param stopwords stopwords to mix in
+     * @return document text
+     */
+    public static String document(int words, List<String> stopwords) {
+        Random random = new Random(SEED);
+        return document(random, vocabulary(random), words, stopwords);
+    }
+
+    /**
+     * Generate distinct raw documents over one vocabulary
+     * @param count number of documents
+     * @param words number of words per document
+     * @param stopwords stopwords to mix in
+     * @return document texts
+     */
+    public static List<String> documents(int count, int words, List<String> stopwords) {
+        Random random = new Random(SEED);
+        String[] vocabulary = vocabulary(random);
+        List<String> documents = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            documents.add(document(random, vocabulary, words, stopwords));
+        }
+        return documents;
+    }
+
+    private static String document(Random random, String[] vocabulary, int words, List<String> stopwords) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (random.nextDouble() < STOPWORD_RATIO) {
+                sb.append(stopwords.get(random.nextInt(stopwords.size())));
+            } else {
+                sb.append(vocabulary[random.nextInt(vocabulary.length)]);
+            }
+            if (random.nextInt(SENTENCE_LENGTH) == 0) {
+                sb.append(random.nextBoolean() ? ". " : ", ");
+            } else {
+                sb.append(' ');
+            }
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Generate nlp-processed sentences as NLPKeywordExtraction.sentence() produces them :
+     * content morphs with runs of stoptag morphs collapsed into a single tag name
+     * @param words number of morphs
+     * @param stoptags stoptag names
+     * @return compiled sentences
+     */
+    public static List<String> compiledSentences(int words, List<String> stoptags) {
+        Random random = new Random(SEED);
+        String[] vocabulary = vocabulary(random);
+        List<String> sentences = new ArrayList<String>();
+        StringBuilder sb = new StringBuilder();
+        boolean preStopTag = false;
+        for (int i = 0; i < words; i++) {
+            if (random.nextDouble() < STOPWORD_RATIO) {
+                if (!preStopTag) {
+                    sb.append(stoptags.get(random.nextInt(stoptags.size()))).append(' ');
+                    preStopTag = true;
+                }
+            } else {
+                sb.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+                preStopTag = false;
+            }
+            if (random.nextInt(SENTENCE_LENGTH) == 0) {
+                sentences.add(sb.toString().trim());
+                sb.setLength(0);
+                preStopTag = false;
+            }
+        }
+        if (sb.length() > 0) {
+            sentences.add(sb.toString().trim());
+        }
+        return sentences;
+    }
+
+    // content words : two to four Hangul syllables, or latin letters
+    private static String[] vocabulary(Random random) {
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = 2 + random.nextInt(3);
+            boolean hangul = random.nextInt(4) != 0;
+            for (int j = 0; j < length; j++) {
+                if (hangul) {
+                    sb.append((char) (0xAC00 + random.nextInt(11172)));
+                } else {
+                    sb.append((char) ('a' + random.nextInt(26))).append((char) ('a' + random.nextInt(26)));
+                }
+            }
+            vocabulary[i] = sb.toString();
+        }
+        return vocabulary;
+    }
+}
@@ -0,0 +1,81 @@
+package com.skplanet.nlp.benchmark;
+
+import java.util.*;
+
+/**
+ * <br>
+ *     Baseline implementations replaced in the core project, kept for comparison
+ * <br>
+ */
+final class Legacy {
+
+    private Legacy() {
+    }
+
+    /**
+     * Map based RAKE scoring, as extract() computed it before RakeScorer
+     */
+    static Map<String, Double> score(List<String> candidates, List<List<String>> tokenized) {
+        Map<String, Double> keywordScore = new HashMap<String, Double>();
+        Map<String, Integer> wordFrequency = new HashMap<String, Integer>();
+        Map<String, Integer> wordDegree = new HashMap<String, Integer>();
+
+        for (List<String> wordList : tokenized) {
+            int wordListDegree = wordList.size() - 1;
+            for (final String word : wordList) {
+                if (!wordFrequency.containsKey(word)) {
+                    wordFrequency.put(word, 0);
+                }
+                if (!wordDegree.containsKey(word)) {
+                    wordDegree.put(word, 0);
+                }
+                wordFrequency.put(word, wordFrequency.get(word) + 1);
+                wordDegree.put(word, wordDegree.get(word) + wordListDegree);
+            }
+        }
+
+        for (String word : wordFrequency.keySet()) {
+            wordDegree.put(word, wordDegree.get(word) + wordFrequency.get(word));
+            if (!keywordScore.containsKey(word)) {
+                keywordScore.put(word, 0.0);
+            }
+            keywordScore.put(word, wordDegree.get(word) / (wordFrequency.get(word) * 1.0));
+        }
+
+        final Map<String, Double> result = new HashMap<String, Double>();
+        for (int i = 0; i < candidates.size(); i++) {
+            double score = 0;
+            for (final String word : tokenized.get(i)) {
+                score += keywordScore.get(word);
+            }
+            result.put(candidates.get(i), score);
+        }
+        return result;
+    }
+
+    /**
+     * Full LinkedList sort keeping the top third, as Utility.sort did before TopK
+     */
+    @SuppressWarnings("unchecked")
+    static LinkedHashMap<String, Double> sort(Map<String, Double> keywordCandidates) {
+        final LinkedHashMap<String, Double> sortedKeyWordCandidates = new LinkedHashMap<String, Double>();
+        int totaKeyWordCandidates = keywordCandidates.size();
+        final List<Map.Entry<String, Double>> keyWordCandidatesAsList =
+                new LinkedList<Map.Entry<String, Double>>(keywordCandidates.entrySet());
+
+        Collections.sort(keyWordCandidatesAsList, new Comparator() {
+            public int compare(Object o1, Object o2) {
+                return ((Map.Entry<String, Double>) o2).getValue().compareTo(((Map.Entry<String, Double>) o1).getValue());
+            }
+        });
+
+        totaKeyWordCandidates = totaKeyWordCandidates / 3;
+        for (final Map.Entry<String, Double> entry : keyWordCandidatesAsList) {
+            sortedKeyWordCandidates.put(entry.getKey(), entry.getValue());
+            if (--totaKeyWordCandidates == 0) {
+                break;
+            }
+        }
+        return sortedKeyWordCandidates;
+    }
+}
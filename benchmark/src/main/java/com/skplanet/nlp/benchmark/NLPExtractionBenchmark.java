@@ -0,0 +1,54 @@
+package com.skplanet.nlp.benchmark;
+
+import com.skplanet.nlp.keywordextractor.NLPKeywordExtraction;
+import com.skplanet.nlp.util.InMemoryMorphAnalyzer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ *     NLPKeywordExtraction end to end, on the in-memory analyzer
+ * <br>
+ *     Reads rake.properties and stopword.kr through Configuration, so config/ and resource/
+ *     must be on the classpath as directories.
+ * <br>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NLPExtractionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int words;
+
+    private NLPKeywordExtraction extractor;
+    private String document;
+
+    @Setup
+    public void setup() throws IOException {
+        this.extractor = new NLPKeywordExtraction(new InMemoryMorphAnalyzer());
+        this.extractor.init();
+        this.document = BenchmarkData.document(this.words, BenchmarkData.stopwords("stopword.kr", 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.extractor.close();
+    }
+
+    @Benchmark
+    public Map<String, Double> extract() {
+        return this.extractor.extract(this.document);
+    }
+
+    @Benchmark
+    public Map<String, Double> extractTop20() {
+        return this.extractor.extract(this.document, 20);
+    }
+}
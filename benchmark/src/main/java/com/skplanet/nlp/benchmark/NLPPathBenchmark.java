@@ -0,0 +1,80 @@
+package com.skplanet.nlp.benchmark;
+
+import com.skplanet.nlp.keywordextractor.RakeScorer;
+import com.skplanet.nlp.stopword.StopwordSplitter;
+import com.skplanet.nlp.stopword.StopwordSplitters;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ *     NLPKeywordExtraction.extract() after morphological analysis
+ * <br>
+ *     Isolates splitting and scoring from analysis : the analyzer is stood in for by pre-generated
+ *     nlp-processed sentences (content morphs with stoptag runs collapsed into tag names),
+ *     split by stopwords and stoptags and scored. See NLPExtractionBenchmark for the full path.
+ * <br>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NLPPathBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int words;
+
+    // maximum number of stopwords of stopword.kr, 0 for all
+    @Param({"100", "0"})
+    public int stopwordCount;
+
+    @Param({StopwordSplitters.REGEX, StopwordSplitters.TRIE})
+    public String engine;
+
+    private StopwordSplitter splitter;
+    private List<String> sentences;
+
+    @Setup
+    public void setup() throws IOException {
+        List<String> stoptags = BenchmarkData.stoptags();
+        List<String> entries = new ArrayList<String>(BenchmarkData.stopwords("stopword.kr", this.stopwordCount));
+        entries.addAll(stoptags);
+        this.splitter = StopwordSplitters.newSplitter(this.engine, entries);
+        this.sentences = BenchmarkData.compiledSentences(this.words, stoptags);
+    }
+
+    @Benchmark
+    public Map<String, Double> extract() {
+        List<String> candidates = new ArrayList<String>();
+        for (String sentence : this.sentences) {
+            this.splitter.split(sentence, candidates);
+        }
+        RakeScorer scorer = new RakeScorer();
+        for (String candidate : candidates) {
+            scorer.add(tokenize(candidate));
+        }
+        scorer.computeScores();
+        Map<String, Double> result = new HashMap<String, Double>();
+        for (int i = 0; i < candidates.size(); i++) {
+            result.put(candidates.get(i), scorer.score(i));
+        }
+        return result;
+    }
+
+    // whitespace tokenizer, candidates never hold runs of whitespace here
+    private static List<String> tokenize(String candidate) {
+        List<String> words = new ArrayList<String>();
+        for (String word : candidate.split(" ")) {
+            words.add(word);
+        }
+        return words;
+    }
+}
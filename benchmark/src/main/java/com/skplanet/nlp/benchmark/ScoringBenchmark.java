@@ -0,0 +1,88 @@
+package com.skplanet.nlp.benchmark;
+
+import com.skplanet.nlp.keywordextractor.RakeScorer;
+import com.skplanet.nlp.stopword.StopwordSplitter;
+import com.skplanet.nlp.stopword.StopwordSplitters;
+import com.skplanet.nlp.util.Utility;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ *     Word scoring and keyword sorting, against the implementations they replaced
+ * <br>
+ *     Candidates and their tokens are prepared once, so only scoring and sorting are measured.
+ * <br>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int words;
+
+    private List<String> candidates;
+    private List<List<String>> tokenized;
+    private Map<String, Double> scores;
+
+    @Setup
+    public void setup() throws IOException {
+        List<String> stopwords = BenchmarkData.stopwords("stopword.kr", 0);
+        BenchSimpleKeywordExtraction extractor = new BenchSimpleKeywordExtraction(stopwords, StopwordSplitters.TRIE);
+        StopwordSplitter splitter = StopwordSplitters.newSplitter(StopwordSplitters.TRIE, stopwords);
+        this.candidates = new ArrayList<String>();
+        for (String sentence : extractor.sentence(BenchmarkData.document(this.words, stopwords))) {
+            splitter.split(sentence, this.candidates);
+        }
+        this.tokenized = new ArrayList<List<String>>();
+        for (String candidate : this.candidates) {
+            this.tokenized.add(extractor.tokenize(candidate));
+        }
+        this.scores = Legacy.score(this.candidates, this.tokenized);
+    }
+
+    @Benchmark
+    public Map<String, Double> legacyScore() {
+        return Legacy.score(this.candidates, this.tokenized);
+    }
+
+    @Benchmark
+    public Map<String, Double> rakeScorer() {
+        RakeScorer scorer = new RakeScorer();
+        for (List<String> wordList : this.tokenized) {
+            scorer.add(wordList);
+        }
+        scorer.computeScores();
+        Map<String, Double> result = new HashMap<String, Double>();
+        for (int i = 0; i < this.candidates.size(); i++) {
+            result.put(this.candidates.get(i), scorer.score(i));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public LinkedHashMap<String, Double> legacySort() {
+        return Legacy.sort(this.scores);
+    }
+
+    @Benchmark
+    public LinkedHashMap<String, Double> sort() {
+        return Utility.sort(this.scores);
+    }
+
+    @Benchmark
+    public LinkedHashMap<String, Double> top20() {
+        return Utility.top(this.scores, 20);
+    }
+}
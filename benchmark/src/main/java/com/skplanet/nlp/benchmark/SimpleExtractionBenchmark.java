@@ -0,0 +1,70 @@
+package com.skplanet.nlp.benchmark;
+
+import com.skplanet.nlp.keywordextractor.SimpleKeywordExtraction;
+import com.skplanet.nlp.stopword.StopwordSplitters;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ *     SimpleKeywordExtraction : full extraction, ranked extraction, sentence breaking and tokenizing
+ * <br>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimpleExtractionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int words;
+
+    // maximum number of stopwords of stopword.kr, 0 for all
+    @Param({"100", "0"})
+    public int stopwordCount;
+
+    @Param({StopwordSplitters.REGEX, StopwordSplitters.TRIE})
+    public String engine;
+
+    private SimpleKeywordExtraction extractor;
+    private String document;
+    private List<String> candidates;
+
+    @Setup
+    public void setup() throws IOException {
+        List<String> stopwords = BenchmarkData.stopwords("stopword.kr", this.stopwordCount);
+        this.extractor = new BenchSimpleKeywordExtraction(stopwords, this.engine);
+        this.document = BenchmarkData.document(this.words, stopwords);
+        this.candidates = new ArrayList<String>(this.extractor.extract(this.document).keySet());
+    }
+
+    @Benchmark
+    public Map<String, Double> extract() {
+        return this.extractor.extract(this.document);
+    }
+
+    @Benchmark
+    public Map<String, Double> extractTop20() {
+        return this.extractor.extract(this.document, 20);
+    }
+
+    @Benchmark
+    public List<String> sentence() {
+        return this.extractor.sentence(this.document);
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole bh) {
+        for (String candidate : this.candidates) {
+            bh.consume(this.extractor.tokenize(candidate));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.skplanet.nlp.benchmark;
+
+import com.skplanet.nlp.stopword.StopwordSplitter;
+import com.skplanet.nlp.stopword.StopwordSplitters;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ *     Stopword dictionary compilation (loadStopword) and stopword splitting, per splitter engine
+ * <br>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StopwordBenchmark {
+
+    @Param({"stopword.kr", "stopword.jp"})
+    public String dictionary;
+
+    // maximum number of stopwords, 0 for the whole dictionary
+    @Param({"100", "0"})
+    public int stopwordCount;
+
+    @Param({"100", "1000", "10000"})
+    public int words;
+
+    @Param({StopwordSplitters.REGEX, StopwordSplitters.TRIE})
+    public String engine;
+
+    // stopwords followed by stoptags, as NLPKeywordExtraction.loadStopword() builds them
+    private List<String> entries;
+    private StopwordSplitter splitter;
+    private List<String> sentences;
+
+    @Setup
+    public void setup() throws IOException {
+        List<String> stopwords = BenchmarkData.stopwords(this.dictionary, this.stopwordCount);
+        this.entries = new ArrayList<String>(stopwords);
+        this.entries.addAll(BenchmarkData.stoptags());
+        this.splitter = StopwordSplitters.newSplitter(this.engine, this.entries);
+        this.sentences = new BenchSimpleKeywordExtraction(stopwords, this.engine)
+                .sentence(BenchmarkData.document(this.words, stopwords));
+    }
+
+    @Benchmark
+    public StopwordSplitter compile() {
+        return StopwordSplitters.newSplitter(this.engine, this.entries);
+    }
+
+    @Benchmark
+    public void split(Blackhole bh) {
+        List<String> candidates = new ArrayList<String>();
+        for (String sentence : this.sentences) {
+            this.splitter.split(sentence, candidates);
+        }
+        bh.consume(candidates);
+    }
+}
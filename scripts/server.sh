@@ -0,0 +1,29 @@
+#!/bin/bash
+
+function usage() {
+	echo "Usage: $0 [port] [extractors]"
+	echo ":: extractors ::"
+	echo "nlp,simple (default) : comma separated"
+	exit 1
+}
+
+if [[ $# -gt 2 ]]; then
+	usage
+fi
+
+PORT=${1:-8080}
+EXTRACTORS=${2:-nlp,simple}
+
+# env.
+CONFIG="/Users/sindongboy/Dropbox/Documents/workspace/keyword-extraction-core/config"
+NLP_CONFIG="/Users/sindongboy/Dropbox/Documents/workspace/nlp_indexterms/config"
+NLP_DICT="/Users/sindongboy/Dropbox/Documents/workspace/nlp_indexterms/resource"
+RESOURCE="/Users/sindongboy/Dropbox/Documents/workspace/keyword-extraction-core/resource"
+
+# dependency
+DEP=`find ../lib -type f -name "*" | awk '{printf("%s:", $0);}' | sed 's/:$//g'`
+TARGET="../target/keyword-extraction-core-1.0.0-SNAPSHOT.jar"
+
+CP="${DEP}:${CONFIG}:${NLP_DICT}:${NLP_CONFIG}:${RESOURCE}:${TARGET}"
+
+java -Xmx4G -Dfile.encoding=UTF-8 -cp $CP com.skplanet.nlp.driver.ExtractionServer -p ${PORT} -x ${EXTRACTORS}
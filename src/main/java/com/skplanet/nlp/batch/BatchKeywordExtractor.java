@@ -0,0 +1,380 @@
+package com.skplanet.nlp.batch;
+
+import com.skplanet.nlp.keywordextractor.CorpusStatistics;
+import com.skplanet.nlp.keywordextractor.KeywordExtractionImpl;
+import com.skplanet.nlp.util.Utility;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <br>
+ *     Parallel, Streaming Batch Keyword Extractor
+ * <br>
+ *     Three stages connected by bounded queues:
+ *     a reader decoding files as UTF-8, a pool of extraction workers sharing one thread-safe extractor,
+ *     and a writer storing the sorted keywords, one file per document.
+ *     A full queue blocks the stage feeding it, so memory stays bounded whatever the input size.
+ *     The same reader and worker pool can instead accumulate corpus statistics in one streaming pass.
+ *     Files larger than {@link #STREAM_THRESHOLD} are not loaded, the worker streams them through the extractor.
+ * <br>
+ */
+public final class BatchKeywordExtractor {
+    private static final Logger LOGGER = Logger.getLogger(BatchKeywordExtractor.class.getName());
+
+    // progress logging period, in documents
+    private static final int PROGRESS_PERIOD = 1000;
+
+    // documents larger than this are streamed, in bytes
+    public static final long STREAM_THRESHOLD = 8L * 1024 * 1024;
+
+    // end of stream markers
+    private static final Document END_OF_DOCUMENTS = new Document(null, null, null);
+    private static final Result END_OF_RESULTS = new Result(null, null);
+
+    private final KeywordExtractionImpl extractor;
+    private final int workers;
+    private final int queueSize;
+    private final ThreadFactory threadFactory;
+
+    /**
+     * Constructor
+     * @param extractor thread-safe keyword extractor, shared by all workers
+     * @param workers number of extraction workers
+     * @param queueSize capacity of each queue between stages
+     * @param threadFactory factory for stage threads
+     */
+    public BatchKeywordExtractor(KeywordExtractionImpl extractor, int workers, int queueSize, ThreadFactory threadFactory) {
+        if (workers < 1 || queueSize < 1) {
+            throw new IllegalArgumentException("workers and queue size must be positive : " + workers + ", " + queueSize);
+        }
+        this.extractor = extractor;
+        this.workers = workers;
+        this.queueSize = queueSize;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Constructor, using platform threads
+     * @param extractor thread-safe keyword extractor, shared by all workers
+     * @param workers number of extraction workers
+     * @param queueSize capacity of each queue between stages
+     */
+    public BatchKeywordExtractor(KeywordExtractionImpl extractor, int workers, int queueSize) {
+        this(extractor, workers, queueSize, Executors.defaultThreadFactory());
+    }
+
+    /**
+     * Thread factory creating virtual threads, when the running JVM supports them
+     * @return virtual thread factory, null if not supported
+     */
+    public static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Extract keywords from every document, writing results to the output directory
+     * @param documents document files
+     * @param outputDir output directory
+     * @return batch report
+     */
+    public BatchReport run(File[] documents, File outputDir) throws InterruptedException {
+        return run(documents, outputDir, null);
+    }
+
+    /**
+     * Extract keywords from every document scored against corpus statistics, writing results to the output directory
+     * @param documents document files
+     * @param outputDir output directory
+     * @param corpus corpus statistics, null to score each document against itself
+     * @return batch report
+     */
+    public BatchReport run(final File[] documents, final File outputDir, final CorpusStatistics corpus)
+            throws InterruptedException {
+        final BatchReport report = new BatchReport();
+        final BlockingQueue<Document> input = new ArrayBlockingQueue<Document>(this.queueSize);
+        final BlockingQueue<Result> output = new ArrayBlockingQueue<Result>(this.queueSize);
+
+        List<Thread> threads = new ArrayList<Thread>();
+
+        // reader
+        threads.add(reader(documents, input, report));
+
+        // extraction workers
+        for (int i = 0; i < this.workers; i++) {
+            threads.add(this.threadFactory.newThread(new Runnable() {
+                public void run() {
+                    try {
+                        Document document;
+                        while ((document = input.take()) != END_OF_DOCUMENTS) {
+                            try {
+                                Map<String, Double> keywords;
+                                if (document.text != null) {
+                                    keywords = extractor.extract(document.text, corpus);
+                                } else {
+                                    Reader reader = open(document.file);
+                                    try {
+                                        keywords = extractor.extract(reader, corpus);
+                                    } finally {
+                                        reader.close();
+                                    }
+                                }
+                                output.put(new Result(document.name, Utility.sort(keywords)));
+                                report.extracted();
+                            } catch (IOException e) {
+                                LOGGER.error("failed to read : " + document.name, e);
+                                report.failed();
+                            } catch (RuntimeException e) {
+                                LOGGER.error("failed to extract : " + document.name, e);
+                                report.failed();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        putUninterruptibly(output, END_OF_RESULTS);
+                    }
+                }
+            }));
+        }
+
+        // writer
+        threads.add(this.threadFactory.newThread(new Runnable() {
+            public void run() {
+                int finished = 0;
+                try {
+                    while (finished < workers) {
+                        Result result = output.take();
+                        if (result == END_OF_RESULTS) {
+                            finished++;
+                            continue;
+                        }
+                        try {
+                            write(new File(outputDir, result.name), result.keywords);
+                            long written = report.written();
+                            if (written % PROGRESS_PERIOD == 0) {
+                                LOGGER.info("progress : " + report);
+                            }
+                        } catch (IOException e) {
+                            LOGGER.error("failed to write : " + result.name, e);
+                            report.failed();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }));
+
+        startAndJoin(threads);
+        report.finish();
+        LOGGER.info("done : " + report);
+        return report;
+    }
+
+    /**
+     * Accumulate corpus statistics over every document in one streaming pass
+     * - each worker fills its own partial statistics, merged when all documents are read
+     * @param documents document files
+     * @return corpus statistics
+     */
+    public CorpusStatistics accumulate(File[] documents) throws InterruptedException {
+        final BatchReport report = new BatchReport();
+        final BlockingQueue<Document> input = new ArrayBlockingQueue<Document>(this.queueSize);
+        final List<CorpusStatistics> partials = new ArrayList<CorpusStatistics>();
+
+        List<Thread> threads = new ArrayList<Thread>();
+
+        // reader
+        threads.add(reader(documents, input, report));
+
+        // accumulation workers
+        for (int i = 0; i < this.workers; i++) {
+            final CorpusStatistics partial = new CorpusStatistics();
+            partials.add(partial);
+            threads.add(this.threadFactory.newThread(new Runnable() {
+                public void run() {
+                    try {
+                        Document document;
+                        while ((document = input.take()) != END_OF_DOCUMENTS) {
+                            try {
+                                if (document.text != null) {
+                                    extractor.accumulate(document.text, partial);
+                                } else {
+                                    Reader reader = open(document.file);
+                                    try {
+                                        partial.add(extractor.partial(reader));
+                                    } finally {
+                                        reader.close();
+                                    }
+                                }
+                                long extracted = report.extracted();
+                                if (extracted % PROGRESS_PERIOD == 0) {
+                                    LOGGER.info("progress : " + report);
+                                }
+                            } catch (IOException e) {
+                                LOGGER.error("failed to read : " + document.name, e);
+                                report.failed();
+                            } catch (RuntimeException e) {
+                                LOGGER.error("failed to accumulate : " + document.name, e);
+                                report.failed();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }));
+        }
+
+        startAndJoin(threads);
+
+        // thread start and join order the partial updates before the merge
+        CorpusStatistics corpus = new CorpusStatistics();
+        for (CorpusStatistics partial : partials) {
+            corpus.merge(partial);
+        }
+        report.finish();
+        LOGGER.info("done : " + report + ", corpus : " + corpus);
+        return corpus;
+    }
+
+    /**
+     * Reader stage : decode each document and hand it to the workers, then signal the end to each of them
+     * - large documents are handed over as files, to be streamed by the worker
+     */
+    private Thread reader(final File[] documents, final BlockingQueue<Document> input, final BatchReport report) {
+        return this.threadFactory.newThread(new Runnable() {
+            public void run() {
+                try {
+                    for (File file : documents) {
+                        if (!file.isFile()) {
+                            continue;
+                        }
+                        if (file.length() > STREAM_THRESHOLD) {
+                            input.put(new Document(file.getName(), null, file));
+                            report.read(file.length());
+                            continue;
+                        }
+                        try {
+                            byte[] bytes = Files.readAllBytes(file.toPath());
+                            input.put(new Document(file.getName(), decode(bytes).trim(), null));
+                            report.read(bytes.length);
+                        } catch (IOException e) {
+                            LOGGER.error("failed to read : " + file.getName(), e);
+                            report.failed();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    for (int i = 0; i < workers; i++) {
+                        putUninterruptibly(input, END_OF_DOCUMENTS);
+                    }
+                }
+            }
+        });
+    }
+
+    private static void startAndJoin(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Strict UTF-8 decoding, malformed input fails the document instead of being silently replaced
+     */
+    private static String decode(byte[] bytes) throws CharacterCodingException {
+        return decoder().decode(ByteBuffer.wrap(bytes)).toString();
+    }
+
+    /**
+     * Strict UTF-8 reader of a streamed document
+     */
+    private static Reader open(File file) throws IOException {
+        return new InputStreamReader(new FileInputStream(file), decoder());
+    }
+
+    private static CharsetDecoder decoder() {
+        return StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+    }
+
+    private static void write(File file, Map<String, Double> keywords) throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+        try {
+            for (String key : keywords.keySet()) {
+                writer.write(key);
+                writer.newLine();
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static <T> void putUninterruptibly(BlockingQueue<T> queue, T item) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(item);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Document {
+        private final String name;
+        // null for a streamed document
+        private final String text;
+        private final File file;
+
+        Document(String name, String text, File file) {
+            this.name = name;
+            this.text = text;
+            this.file = file;
+        }
+    }
+
+    private static final class Result {
+        private final String name;
+        private final Map<String, Double> keywords;
+
+        Result(String name, Map<String, Double> keywords) {
+            this.name = name;
+            this.keywords = keywords;
+        }
+    }
+}
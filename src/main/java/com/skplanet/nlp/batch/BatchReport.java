@@ -0,0 +1,88 @@
+package com.skplanet.nlp.batch;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <br>
+ *     Batch Extraction Report
+ * <br>
+ *     Counters are updated concurrently by the batch stages while the run is in progress.
+ * <br>
+ */
+public final class BatchReport {
+
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong extracted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final long startTime = System.nanoTime();
+    private volatile long endTime = 0L;
+
+    void read(long size) {
+        this.read.incrementAndGet();
+        this.bytes.addAndGet(size);
+    }
+
+    long extracted() {
+        return this.extracted.incrementAndGet();
+    }
+
+    long written() {
+        return this.written.incrementAndGet();
+    }
+
+    void failed() {
+        this.failed.incrementAndGet();
+    }
+
+    void finish() {
+        this.endTime = System.nanoTime();
+    }
+
+    public long getRead() {
+        return this.read.get();
+    }
+
+    public long getBytes() {
+        return this.bytes.get();
+    }
+
+    public long getExtracted() {
+        return this.extracted.get();
+    }
+
+    public long getWritten() {
+        return this.written.get();
+    }
+
+    public long getFailed() {
+        return this.failed.get();
+    }
+
+    /**
+     * Elapsed time, up to now while running
+     * @return elapsed milliseconds
+     */
+    public long getElapsed() {
+        long end = this.endTime == 0L ? System.nanoTime() : this.endTime;
+        return (end - this.startTime) / 1000000L;
+    }
+
+    /**
+     * Throughput of written documents
+     * @return documents per second
+     */
+    public double getDocumentsPerSecond() {
+        long elapsed = Math.max(getElapsed(), 1L);
+        return getWritten() * 1000.0 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        long elapsed = Math.max(getElapsed(), 1L);
+        return String.format("read %d (%.1f MB), extracted %d, written %d, failed %d in %.1f sec : %.1f docs/sec, %.2f MB/sec",
+                getRead(), getBytes() / 1048576.0, getExtracted(), getWritten(), getFailed(), elapsed / 1000.0,
+                getDocumentsPerSecond(), getBytes() / 1048576.0 * 1000.0 / elapsed);
+    }
+}
@@ -19,10 +19,22 @@ public final class Properties {
     // common file names
     public static final String RAKE_CONFIG = "rake.properties";
     public static final String STOPWORD_FILE = "stopword.kr";
+    public static final String STOPWORD_CUSTOM_FILE = "stopword.custom";
 
     // properties
     public static final String MIN_WORD_LEN = "MIN_WORD_LEN";
     public static final String MIN_TOKEN_LEN = "MIN_TOKEN_LEN";
     public static final String STOPTAG = "STOPTAG";
+    public static final String STOPWORD_SPLITTER = "STOPWORD_SPLITTER";
+    public static final String STOPWORD_WATCH_INTERVAL = "STOPWORD_WATCH_INTERVAL";
+    public static final String ANALYSIS_CACHE_SIZE = "ANALYSIS_CACHE_SIZE";
+    public static final String METRICS_ENABLED = "METRICS_ENABLED";
+    public static final String METRICS_LOG_INTERVAL = "METRICS_LOG_INTERVAL";
+    public static final String ANALYZER_POOL_SIZE = "ANALYZER_POOL_SIZE";
+    public static final String ANALYZER_POOL_TIMEOUT = "ANALYZER_POOL_TIMEOUT";
+    public static final String PARALLEL_SENTENCE_THRESHOLD = "PARALLEL_SENTENCE_THRESHOLD";
+    public static final String LANGUAGE_ROUTING = "LANGUAGE_ROUTING";
+    public static final String STOPWORD_FILES_JA = "STOPWORD_FILES_JA";
+    public static final String STOPWORD_FILES_EN = "STOPWORD_FILES_EN";
 
 }
@@ -0,0 +1,85 @@
+package com.skplanet.nlp.driver;
+
+import com.skplanet.nlp.cli.CommandLineInterface;
+import com.skplanet.nlp.keywordextractor.NLPKeywordExtraction;
+import org.apache.log4j.Logger;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * <br>
+ *     Concurrency Stress Tester
+ * <br>
+ *     Extracts keywords from every line of the input file sequentially,
+ *     then again from many threads sharing one NLPKeywordExtraction instance,
+ *     and reports any line whose concurrent result differs from the sequential one.
+ * <br>
+ */
+public class ConcurrentExtractionTester {
+    private static final Logger LOGGER = Logger.getLogger(ConcurrentExtractionTester.class.getName());
+
+    private static final int DEFAULT_THREADS = 32;
+    private static final int DEFAULT_ROUNDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        CommandLineInterface cli = new CommandLineInterface();
+        cli.addOption("i", null, true, "input text file, one document per line", true);
+        cli.addOption("t", null, true, "number of threads (32 by default)", false);
+        cli.addOption("r", null, true, "number of rounds over the input (10 by default)", false);
+        cli.parseOptions(args);
+
+        int threads = cli.getOption("t") == null ? DEFAULT_THREADS : Integer.parseInt(cli.getOption("t"));
+        int rounds = cli.getOption("r") == null ? DEFAULT_ROUNDS : Integer.parseInt(cli.getOption("r"));
+
+        final List<String> documents = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(cli.getOption("i")), "UTF-8"));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().length() > 0) {
+                documents.add(line);
+            }
+        }
+        reader.close();
+
+        final NLPKeywordExtraction extractor = new NLPKeywordExtraction();
+        extractor.init();
+
+        // sequential reference
+        final List<Map<String, Double>> expected = new ArrayList<Map<String, Double>>();
+        for (String document : documents) {
+            expected.add(extractor.extract(document));
+        }
+
+        // concurrent run on the shared instance
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < documents.size(); i++) {
+                final int idx = i;
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    public Boolean call() {
+                        return expected.get(idx).equals(extractor.extract(documents.get(idx)));
+                    }
+                }));
+            }
+        }
+
+        int mismatches = 0;
+        for (Future<Boolean> future : futures) {
+            if (!future.get()) {
+                mismatches++;
+            }
+        }
+        executor.shutdown();
+
+        LOGGER.info("threads : " + threads + ", extractions : " + futures.size() + ", mismatches : " + mismatches);
+        System.out.println("threads : " + threads + ", extractions : " + futures.size() + ", mismatches : " + mismatches);
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+}
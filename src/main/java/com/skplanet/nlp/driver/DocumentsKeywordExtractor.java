@@ -1,12 +1,14 @@
 package com.skplanet.nlp.driver;
 
+import com.skplanet.nlp.batch.BatchKeywordExtractor;
+import com.skplanet.nlp.batch.BatchReport;
 import com.skplanet.nlp.cli.CommandLineInterface;
+import com.skplanet.nlp.keywordextractor.CorpusStatistics;
 import com.skplanet.nlp.keywordextractor.NLPKeywordExtraction;
-import com.skplanet.nlp.util.Utility;
 import org.apache.log4j.Logger;
 
 import java.io.*;
-import java.util.Map;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * @author Donghun Shin / donghun.shin@sk.com
@@ -15,10 +17,15 @@ import java.util.Map;
 public class DocumentsKeywordExtractor {
     private static final Logger LOGGER = Logger.getLogger(DocumentsKeywordExtractor.class.getName());
 
-    public static void main(String[] args) throws IOException {
+    public static void main(String[] args) throws IOException, InterruptedException {
         CommandLineInterface cli = new CommandLineInterface();
         cli.addOption("d", null, true, "document path", true);
-        cli.addOption("o", null, true, "output path", true);
+        cli.addOption("o", null, true, "output path, required unless building corpus statistics", false);
+        cli.addOption("c", null, true, "corpus statistics file : documents are scored against it", false);
+        cli.addOption("b", null, true, "build corpus statistics over the documents into the given file, no extraction", false);
+        cli.addOption("t", null, true, "number of extraction workers (number of cores by default)", false);
+        cli.addOption("q", null, true, "queue size between stages (4 x workers by default)", false);
+        cli.addOption("m", null, true, "worker thread mode : platform (default) or virtual", false);
         cli.parseOptions(args);
 
         File documentPath = new File(cli.getOption("d"));
@@ -27,35 +34,59 @@ public class DocumentsKeywordExtractor {
             LOGGER.error("require document path, not a file");
             System.exit(1);
         }
+        if (cli.getOption("b") == null && cli.getOption("o") == null) {
+            LOGGER.error("require output path");
+            System.exit(1);
+        }
 
-        File[] documents = documentPath.listFiles();
-        BufferedReader reader;
-        BufferedWriter writer;
+        int workers = cli.getOption("t") == null ?
+                Runtime.getRuntime().availableProcessors() : Integer.parseInt(cli.getOption("t"));
+        int queueSize = cli.getOption("q") == null ? workers * 4 : Integer.parseInt(cli.getOption("q"));
 
         NLPKeywordExtraction extractor = new NLPKeywordExtraction();
         extractor.init();
 
-        for (File documentFile : documents) {
-
-            char[] cbuf = new char[(int) documentFile.length()];
-            reader = new BufferedReader(new FileReader(documentFile));
-            while (!reader.ready()) { }
-            reader.read(cbuf);
-            reader.close();
-
-            String sbuf = String.valueOf(cbuf).trim();
-
-            Map<String, Double> result = extractor.extract(sbuf);
+        BatchKeywordExtractor batch;
+        if ("virtual".equals(cli.getOption("m"))) {
+            ThreadFactory factory = BatchKeywordExtractor.virtualThreadFactory();
+            if (factory == null) {
+                LOGGER.error("virtual threads are not supported by this JVM");
+                System.exit(1);
+            }
+            batch = new BatchKeywordExtractor(extractor, workers, queueSize, factory);
+        } else {
+            batch = new BatchKeywordExtractor(extractor, workers, queueSize);
+        }
 
-            result = Utility.sort(result);
+        // build corpus statistics in one streaming pass
+        if (cli.getOption("b") != null) {
+            CorpusStatistics corpus = batch.accumulate(documentPath.listFiles());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(cli.getOption("b"))));
+            try {
+                corpus.write(out);
+            } finally {
+                out.close();
+            }
+            extractor.close();
+            System.out.println("corpus : " + corpus);
+            return;
+        }
 
-            writer = new BufferedWriter(new FileWriter(cli.getOption("o") + "/" + documentFile.getName()));
-            for (String key : result.keySet()) {
-                writer.write(key);
-                writer.newLine();
+        // corpus statistics to score against
+        CorpusStatistics corpus = null;
+        if (cli.getOption("c") != null) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cli.getOption("c"))));
+            try {
+                corpus = CorpusStatistics.read(in);
+            } finally {
+                in.close();
             }
-            writer.close();
-            reader.close();
+            LOGGER.info("corpus : " + corpus);
         }
+
+        BatchReport report = batch.run(documentPath.listFiles(), new File(cli.getOption("o")), corpus);
+        extractor.close();
+
+        System.out.println(report);
     }
 }
@@ -0,0 +1,91 @@
+package com.skplanet.nlp.driver;
+
+import com.skplanet.nlp.cli.CommandLineInterface;
+import com.skplanet.nlp.keywordextractor.NLPKeywordExtraction;
+import com.skplanet.nlp.keywordextractor.SimpleKeywordExtraction;
+import com.skplanet.nlp.server.ExtractionBatcher;
+import com.skplanet.nlp.server.KeywordServer;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ *     Resident Keyword Extraction Server
+ * <br>
+ *     Initializes the extractors once and serves extraction over HTTP until the JVM is stopped,
+ *     instead of starting a new JVM for every job.
+ * <br>
+ */
+public class ExtractionServer {
+    private static final Logger LOGGER = Logger.getLogger(ExtractionServer.class.getName());
+
+    public static void main(String[] args) throws IOException {
+        CommandLineInterface cli = new CommandLineInterface();
+        cli.addOption("p", null, true, "port (8080 by default)", false);
+        cli.addOption("x", null, true, "extractors to load, comma separated : nlp,simple (default)", false);
+        cli.addOption("t", null, true, "batch workers per extractor (number of cores by default)", false);
+        cli.addOption("b", null, true, "maximum requests per batch (32 by default)", false);
+        cli.addOption("l", null, true, "batch linger time in milliseconds (2 by default)", false);
+        cli.addOption("q", null, true, "request queue size per extractor (1024 by default)", false);
+        cli.addOption("s", null, true, "stats logging interval in seconds (60 by default, 0 = off)", false);
+        cli.parseOptions(args);
+
+        int port = cli.getOption("p") == null ? 8080 : Integer.parseInt(cli.getOption("p"));
+        String[] names = (cli.getOption("x") == null ? KeywordServer.NLP + "," + KeywordServer.SIMPLE : cli.getOption("x")).split(",");
+        int workers = cli.getOption("t") == null ?
+                Runtime.getRuntime().availableProcessors() : Integer.parseInt(cli.getOption("t"));
+        int maxBatch = cli.getOption("b") == null ? 32 : Integer.parseInt(cli.getOption("b"));
+        long linger = cli.getOption("l") == null ? 2 : Long.parseLong(cli.getOption("l"));
+        int queueSize = cli.getOption("q") == null ? 1024 : Integer.parseInt(cli.getOption("q"));
+        long statsInterval = cli.getOption("s") == null ? 60 : Long.parseLong(cli.getOption("s"));
+
+        // extractors are initialized once, for the lifetime of the server
+        Map<String, ExtractionBatcher> batchers = new LinkedHashMap<String, ExtractionBatcher>();
+        for (String name : names) {
+            name = name.trim();
+            if (KeywordServer.NLP.equals(name)) {
+                NLPKeywordExtraction extractor = new NLPKeywordExtraction();
+                extractor.init();
+                batchers.put(KeywordServer.NLP, new ExtractionBatcher(KeywordServer.NLP, extractor, workers, maxBatch, linger, queueSize));
+            } else if (KeywordServer.SIMPLE.equals(name)) {
+                SimpleKeywordExtraction extractor = new SimpleKeywordExtraction();
+                extractor.init();
+                batchers.put(KeywordServer.SIMPLE, new ExtractionBatcher(KeywordServer.SIMPLE, extractor, workers, maxBatch, linger, queueSize));
+            } else {
+                LOGGER.error("unknown extractor : " + name);
+                System.exit(1);
+            }
+        }
+
+        final KeywordServer server = new KeywordServer(port, batchers, batchers.keySet().iterator().next(), workers * 4);
+        server.start();
+
+        if (statsInterval > 0) {
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "server-stats");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            reporter.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    LOGGER.info("stats\n" + server.stats());
+                }
+            }, statsInterval, statsInterval, TimeUnit.SECONDS);
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            public void run() {
+                server.stop();
+            }
+        }));
+    }
+}
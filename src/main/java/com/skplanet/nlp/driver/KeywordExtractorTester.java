@@ -41,6 +41,7 @@ public class KeywordExtractorTester {
 
             if (keyword.trim().toLowerCase().equals("reload")) {
                 keywordExtractor.reloadStopword();
+                System.out.println("stopword " + keywordExtractor.getStopwordDictionary());
                 System.out.print("INPUT: ");
                 continue;
             }
@@ -0,0 +1,163 @@
+package com.skplanet.nlp.driver;
+
+import com.skplanet.nlp.cli.CommandLineInterface;
+import com.skplanet.nlp.common.Properties;
+import com.skplanet.nlp.config.Configuration;
+import com.skplanet.nlp.keywordextractor.SimpleKeywordExtraction;
+import com.skplanet.nlp.stopword.StopwordFiles;
+import com.skplanet.nlp.stopword.StopwordSplitter;
+import com.skplanet.nlp.stopword.StopwordSplitters;
+import org.apache.log4j.Logger;
+
+import java.io.*;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <br>
+ *     Simple Segmenter / Tokenizer Equivalence Tester
+ * <br>
+ *     Runs every line of the given text file through the former regex based sentence breaker and tokenizer
+ *     and through the char scanning ones of {@link SimpleKeywordExtraction}, and splits each sentence
+ *     both as a copied string and as a range of the line with every bundled stopword set.
+ *     Reports any line on which they disagree and the time spent on each.
+ *     The former tokenizer is taken with numeric tokens filtered as intended ([0-9.]+),
+ *     it only ever matched single characters.
+ * <br>
+ */
+public class SimpleSegmenterTester {
+    private static final Logger LOGGER = Logger.getLogger(SimpleSegmenterTester.class.getName());
+
+    // bundled stopword sets
+    private static final String[] STOPWORD_FILES = {"stopword.kr", "stopword.jp"};
+
+    public static void main(String[] args) throws IOException {
+        CommandLineInterface cli = new CommandLineInterface();
+        cli.addOption("i", null, true, "input text file", true);
+        cli.parseOptions(args);
+
+        Configuration config = Configuration.getInstance();
+        config.loadProperties(Properties.RAKE_CONFIG);
+        final int minWordLen = Integer.parseInt(config.readProperty(Properties.RAKE_CONFIG, Properties.MIN_WORD_LEN));
+
+        SimpleKeywordExtraction extractor = new SimpleKeywordExtraction();
+        extractor.init();
+
+        List<StopwordSplitter> splitters = new ArrayList<StopwordSplitter>();
+        for (String name : STOPWORD_FILES) {
+            URL url = config.getResource(name);
+            if (url == null) {
+                LOGGER.warn("stopword set not found : " + name);
+                continue;
+            }
+            splitters.add(StopwordSplitters.newSplitter(StopwordSplitters.TRIE, StopwordFiles.read(new File(url.getFile()))));
+        }
+
+        List<String> expected = new ArrayList<String>();
+        List<String> actual = new ArrayList<String>();
+        long legacyTime = 0;
+        long scanTime = 0;
+        int lines = 0;
+        int mismatches = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(cli.getOption("i")), "UTF-8"));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines++;
+            boolean mismatch = false;
+
+            // sentence breaker
+            long start = System.nanoTime();
+            List<String> legacySentences = legacySentence(line);
+            legacyTime += System.nanoTime() - start;
+            start = System.nanoTime();
+            List<String> sentences = extractor.sentence(line);
+            scanTime += System.nanoTime() - start;
+            if (!legacySentences.equals(sentences)) {
+                mismatch = true;
+                System.out.println("  sentence : " + legacySentences + " / " + sentences);
+            }
+
+            // tokenizer, on every piece the sentences could be cut into
+            for (String sentence : legacySentences) {
+                for (String piece : sentence.split("\\|")) {
+                    start = System.nanoTime();
+                    List<String> legacyTokens = legacyTokenize(piece, minWordLen);
+                    legacyTime += System.nanoTime() - start;
+                    start = System.nanoTime();
+                    List<String> tokens = extractor.tokenize(piece);
+                    scanTime += System.nanoTime() - start;
+                    if (!legacyTokens.equals(tokens)) {
+                        mismatch = true;
+                        System.out.println("  tokenize : " + legacyTokens + " / " + tokens);
+                    }
+                }
+            }
+
+            // splitting sentence copies and sentence ranges
+            for (StopwordSplitter splitter : splitters) {
+                expected.clear();
+                actual.clear();
+                for (String sentence : legacySentences) {
+                    splitter.split(sentence, expected);
+                }
+                int from = 0;
+                for (int i = 0; i < line.length(); i++) {
+                    if (isLegacyDelimiter(line.charAt(i))) {
+                        splitter.split(line, from, i, actual);
+                        from = i + 1;
+                    }
+                }
+                splitter.split(line, from, line.length(), actual);
+                if (!expected.equals(actual)) {
+                    mismatch = true;
+                    System.out.println("  split : " + expected + " / " + actual);
+                }
+            }
+
+            if (mismatch) {
+                mismatches++;
+                System.out.println("MISMATCH : " + line);
+            }
+        }
+        reader.close();
+
+        LOGGER.info("lines : " + lines + ", mismatches : " + mismatches);
+        System.out.println("lines : " + lines + ", mismatches : " + mismatches);
+        System.out.println("regex : " + (legacyTime / 1000000) + " ms, scan : " + (scanTime / 1000000) + " ms");
+    }
+
+    // ---- former implementation ---- //
+
+    private static List<String> legacySentence(String document) {
+        final String[] sentences = document.split("[.!?,;:\\t\\\\-\\\\\"\\\\(\\\\)\\\\\\'\\u2019\\u2013]");
+        return new ArrayList<String>(Arrays.asList(sentences));
+    }
+
+    private static List<String> legacyTokenize(String sentence, int minWordLen) {
+        final List<String> separateWords = new ArrayList<String>();
+        for (final String word : sentence.split(" ")) {
+            String wordLowerCase = word.trim().toLowerCase();
+            if (wordLowerCase.length() > 0 && wordLowerCase.length() > minWordLen
+                    && !(wordLowerCase.matches("[0-9.]+") && wordLowerCase.matches(".*[0-9].*"))) {
+                separateWords.add(wordLowerCase);
+            }
+        }
+        return separateWords;
+    }
+
+    // delimiters of the former regex, probed once per character
+    private static final boolean[] LEGACY_DELIMITER = new boolean[Character.MAX_VALUE + 1];
+
+    static {
+        for (int ch = 0; ch <= Character.MAX_VALUE; ch++) {
+            LEGACY_DELIMITER[ch] = legacySentence("a" + (char) ch + "a").size() == 2;
+        }
+    }
+
+    private static boolean isLegacyDelimiter(char ch) {
+        return LEGACY_DELIMITER[ch];
+    }
+}
@@ -0,0 +1,53 @@
+package com.skplanet.nlp.driver;
+
+import com.skplanet.nlp.cli.CommandLineInterface;
+import com.skplanet.nlp.stopword.CompiledStopwords;
+import com.skplanet.nlp.stopword.StopwordFiles;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * <br>
+ *     Stopword Dictionary Compiler
+ * <br>
+ *     Compiles stopword text files (e.g. resource/stopword.kr, resource/stopword.jp) into
+ *     memory-mappable binary dictionaries, written next to each file with the ".bin" suffix by default.
+ *     Extractors map the compiled dictionary instead of parsing the text file while it is up to date.
+ * <br>
+ */
+public class StopwordCompiler {
+    private static final Logger LOGGER = Logger.getLogger(StopwordCompiler.class.getName());
+
+    public static void main(String[] args) throws IOException {
+        CommandLineInterface cli = new CommandLineInterface();
+        cli.addOption("i", null, true, "stopword text files, comma separated", true);
+        cli.addOption("o", null, true, "output file, only with a single input (default : <input>.bin)", false);
+        cli.parseOptions(args);
+
+        String[] inputs = cli.getOption("i").split(",");
+        if (cli.getOption("o") != null && inputs.length > 1) {
+            LOGGER.error("-o is allowed with a single input only");
+            System.exit(1);
+        }
+
+        for (String input : inputs) {
+            File file = new File(input.trim());
+            File output = cli.getOption("o") != null ? new File(cli.getOption("o")) : StopwordFiles.compiledFile(file);
+
+            long start = System.currentTimeMillis();
+            List<String> stopwords = StopwordFiles.read(file);
+            CompiledStopwords.compile(stopwords, output);
+
+            // check the compiled dictionary maps back to the same list
+            if (!CompiledStopwords.map(output).getStopwords().equals(stopwords)) {
+                LOGGER.error("compiled dictionary does not match : " + file);
+                System.exit(1);
+            }
+            LOGGER.info(file + " -> " + output + " : " + stopwords.size() + " stopwords, "
+                    + output.length() + " bytes, " + (System.currentTimeMillis() - start) + " ms");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.skplanet.nlp.driver;
+
+import com.skplanet.nlp.cli.CommandLineInterface;
+import com.skplanet.nlp.common.Properties;
+import com.skplanet.nlp.config.Configuration;
+import com.skplanet.nlp.stopword.StopwordSplitter;
+import com.skplanet.nlp.stopword.StopwordSplitters;
+import org.apache.log4j.Logger;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <br>
+ *     Stopword Splitter Equivalence Tester
+ * <br>
+ *     Splits every line of the given text file with the reference regex splitter
+ *     and with the trie splitter, reports any line on which they disagree and the time spent on each.
+ * <br>
+ */
+public class StopwordSplitterTester {
+    private static final Logger LOGGER = Logger.getLogger(StopwordSplitterTester.class.getName());
+
+    public static void main(String[] args) throws IOException {
+        CommandLineInterface cli = new CommandLineInterface();
+        cli.addOption("i", null, true, "input text file", true);
+        cli.parseOptions(args);
+
+        Configuration config = Configuration.getInstance();
+        config.loadProperties(Properties.RAKE_CONFIG);
+
+        // stopwords followed by stoptags, as NLPKeywordExtraction builds them
+        List<String> entries = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(config.getResource(Properties.STOPWORD_FILE).getFile()), "UTF-8"));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.length() == 0 || line.startsWith("#")) {
+                continue;
+            }
+            entries.add(line.trim().toLowerCase());
+        }
+        reader.close();
+        Collections.addAll(entries, config.readProperty(Properties.RAKE_CONFIG, Properties.STOPTAG).split(","));
+
+        StopwordSplitter regex = StopwordSplitters.newSplitter(StopwordSplitters.REGEX, entries);
+        StopwordSplitter trie = StopwordSplitters.newSplitter(StopwordSplitters.TRIE, entries);
+
+        List<String> expected = new ArrayList<String>();
+        List<String> actual = new ArrayList<String>();
+        long regexTime = 0;
+        long trieTime = 0;
+        int lines = 0;
+        int mismatches = 0;
+
+        reader = new BufferedReader(new InputStreamReader(new FileInputStream(cli.getOption("i")), "UTF-8"));
+        while ((line = reader.readLine()) != null) {
+            expected.clear();
+            actual.clear();
+
+            long start = System.nanoTime();
+            regex.split(line, expected);
+            regexTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            trie.split(line, actual);
+            trieTime += System.nanoTime() - start;
+
+            lines++;
+            if (!expected.equals(actual)) {
+                mismatches++;
+                System.out.println("MISMATCH : " + line);
+                System.out.println("  regex : " + expected);
+                System.out.println("  trie  : " + actual);
+            }
+        }
+        reader.close();
+
+        LOGGER.info("lines : " + lines + ", mismatches : " + mismatches);
+        System.out.println("lines : " + lines + ", mismatches : " + mismatches);
+        System.out.println("regex : " + (regexTime / 1000000) + " ms, trie : " + (trieTime / 1000000) + " ms");
+    }
+}
@@ -0,0 +1,89 @@
+package com.skplanet.nlp.keywordextractor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <br>
+ *     Keyword Candidates with their Words
+ * <br>
+ *     Candidate phrases in order of appearance, and the words of all of them in one flat list,
+ *     each candidate ending at its offset in {@code ends}. Words are appended to {@link #words} first,
+ *     then the candidate closes them with {@link #add(String)}.
+ *     Not thread-safe.
+ * <br>
+ */
+final class CandidateList {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // candidate phrases
+    private final List<String> phrases = new ArrayList<String>();
+    // words of every candidate, then of the open one
+    final List<String> words = new ArrayList<String>();
+    // end of the words of each candidate, exclusive
+    private int[] ends = new int[INITIAL_CAPACITY];
+
+    /**
+     * Close a candidate over the words appended since the previous one
+     * @param phrase candidate phrase
+     */
+    void add(String phrase) {
+        final int n = this.phrases.size();
+        if (n == this.ends.length) {
+            int[] grown = new int[n * 2];
+            System.arraycopy(this.ends, 0, grown, 0, n);
+            this.ends = grown;
+        }
+        this.ends[n] = this.words.size();
+        this.phrases.add(phrase);
+    }
+
+    /**
+     * Drop the words appended since the last candidate
+     */
+    void discard() {
+        final int start = start(this.phrases.size());
+        if (this.words.size() > start) {
+            this.words.subList(start, this.words.size()).clear();
+        }
+    }
+
+    /**
+     * Number of candidates
+     * @return candidate count
+     */
+    int size() {
+        return this.phrases.size();
+    }
+
+    /**
+     * Get candidate phrase
+     * @param i candidate index
+     * @return phrase
+     */
+    String phrase(int i) {
+        return this.phrases.get(i);
+    }
+
+    /**
+     * Get candidate words
+     * @param i candidate index
+     * @return view of the words, valid until the list changes
+     */
+    List<String> words(int i) {
+        return this.words.subList(start(i), this.ends[i]);
+    }
+
+    /**
+     * Forget every candidate, keeping the allocated capacity
+     */
+    void clear() {
+        this.phrases.clear();
+        this.words.clear();
+    }
+
+    private int start(int i) {
+        return i == 0 ? 0 : this.ends[i - 1];
+    }
+}
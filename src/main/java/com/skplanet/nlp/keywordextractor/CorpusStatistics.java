@@ -0,0 +1,198 @@
+package com.skplanet.nlp.keywordextractor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <br>
+ *     Corpus-level RAKE Statistics
+ * <br>
+ *     Accumulates word frequency, word degree and document frequency over a stream of documents,
+ *     so documents can be scored against a whole corpus shard instead of their own text only.
+ *     Not thread-safe : give each thread its own instance and {@link #merge(CorpusStatistics)} them,
+ *     merging is associative and commutative.
+ * <br>
+ */
+public final class CorpusStatistics {
+
+    // serialization format
+    private static final int MAGIC = 0x52414b45;
+    // version 1 wrote words with writeUTF, limited to 65535 bytes
+    private static final int VERSION = 2;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final WordTable words = new WordTable();
+    private int[] frequency = new int[INITIAL_CAPACITY];
+    private int[] degree = new int[INITIAL_CAPACITY];
+    private int[] documentFrequency = new int[INITIAL_CAPACITY];
+    // document that last counted the word, to count document frequency once per document
+    private long[] lastDocument = new long[INITIAL_CAPACITY];
+    private long documents = 0;
+
+    /**
+     * Add a document
+     * @param candidates words of each keyword candidate of the document
+     */
+    public void add(List<List<String>> candidates) {
+        final long document = ++this.documents;
+        for (List<String> wordList : candidates) {
+            final int wordListDegree = wordList.size() - 1;
+            for (int i = 0; i < wordList.size(); i++) {
+                int id = id(wordList.get(i));
+                this.frequency[id]++;
+                this.degree[id] += wordListDegree;
+                if (this.lastDocument[id] != document) {
+                    this.lastDocument[id] = document;
+                    this.documentFrequency[id]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a document from its partial extraction result, e.g. a streamed document
+     * @param document partial result of the whole document
+     */
+    public void add(PartialResult document) {
+        final long current = ++this.documents;
+        for (int i = 0; i < document.words(); i++) {
+            int id = id(document.word(i));
+            this.frequency[id] += document.frequency(i);
+            this.degree[id] += document.degree(i);
+            this.lastDocument[id] = current;
+            this.documentFrequency[id]++;
+        }
+    }
+
+    /**
+     * Merge statistics of another partial into this one
+     * @param other partial statistics, left unchanged
+     */
+    public void merge(CorpusStatistics other) {
+        for (int i = 0; i < other.words.size(); i++) {
+            int id = id(other.words.word(i));
+            this.frequency[id] += other.frequency[i];
+            this.degree[id] += other.degree[i];
+            this.documentFrequency[id] += other.documentFrequency[i];
+        }
+        this.documents += other.documents;
+    }
+
+    /**
+     * Corpus word score, degree / frequency with degree including the word itself
+     * @param word word
+     * @return word score, NaN if the word never occurred in the corpus
+     */
+    public double wordScore(String word) {
+        int id = this.words.get(word);
+        if (id < 0) {
+            return Double.NaN;
+        }
+        return (this.degree[id] + this.frequency[id]) / (this.frequency[id] * 1.0);
+    }
+
+    /**
+     * Number of occurrences of the word in the corpus
+     * @param word word
+     * @return word frequency
+     */
+    public int getFrequency(String word) {
+        int id = this.words.get(word);
+        return id < 0 ? 0 : this.frequency[id];
+    }
+
+    /**
+     * Sum of the degrees of the word in the corpus, excluding itself
+     * @param word word
+     * @return word degree
+     */
+    public int getDegree(String word) {
+        int id = this.words.get(word);
+        return id < 0 ? 0 : this.degree[id];
+    }
+
+    /**
+     * Number of documents the word occurred in
+     * @param word word
+     * @return document frequency
+     */
+    public int getDocumentFrequency(String word) {
+        int id = this.words.get(word);
+        return id < 0 ? 0 : this.documentFrequency[id];
+    }
+
+    public long getDocuments() {
+        return this.documents;
+    }
+
+    /**
+     * Number of distinct words
+     * @return vocabulary size
+     */
+    public int size() {
+        return this.words.size();
+    }
+
+    /**
+     * Serialize statistics
+     * @param out output
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(this.documents);
+        out.writeInt(this.words.size());
+        for (int i = 0; i < this.words.size(); i++) {
+            PartialResult.writeString(out, this.words.word(i));
+            out.writeInt(this.frequency[i]);
+            out.writeInt(this.degree[i]);
+            out.writeInt(this.documentFrequency[i]);
+        }
+    }
+
+    /**
+     * Deserialize statistics
+     * @param in input
+     * @return statistics
+     */
+    public static CorpusStatistics read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a corpus statistics file");
+        }
+        int version = in.readInt();
+        if (version != 1 && version != VERSION) {
+            throw new IOException("unsupported corpus statistics version : " + version);
+        }
+        CorpusStatistics statistics = new CorpusStatistics();
+        statistics.documents = in.readLong();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            int id = statistics.id(PartialResult.readString(in, version));
+            statistics.frequency[id] = in.readInt();
+            statistics.degree[id] = in.readInt();
+            statistics.documentFrequency[id] = in.readInt();
+        }
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return this.documents + " documents, " + this.words.size() + " words";
+    }
+
+    private int id(String word) {
+        int id = this.words.add(word);
+        if (id == this.frequency.length) {
+            int capacity = id * 2;
+            this.frequency = Arrays.copyOf(this.frequency, capacity);
+            this.degree = Arrays.copyOf(this.degree, capacity);
+            this.documentFrequency = Arrays.copyOf(this.documentFrequency, capacity);
+            this.lastDocument = Arrays.copyOf(this.lastDocument, capacity);
+        }
+        return id;
+    }
+}
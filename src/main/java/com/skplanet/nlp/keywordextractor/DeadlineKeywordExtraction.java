@@ -0,0 +1,376 @@
+package com.skplanet.nlp.keywordextractor;
+
+import com.skplanet.nlp.util.TopK;
+import org.apache.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * <br>
+ *     Deadline-aware Asynchronous Keyword Extraction
+ * <br>
+ *     NLP extraction runs on a fixed number of workers behind a bounded queue, and every request carries a deadline.
+ *     The returned future completes by the deadline (plus the fallback time) whatever the analyzer does :
+ *     - the NLP extraction completes in time : its result<br>
+ *     - the deadline passes after some sentences are analyzed : the keywords of those sentences<br>
+ *     - the deadline passes before any, the queue is full, or the extraction fails :
+ *       the fallback extractor (regex only {@link SimpleKeywordExtraction}) on the whole text<br>
+ *     A worker whose request was answered by the fallback stops at the next sentence.
+ *     Outcomes are counted, and published as an MXBean.
+ * <br>
+ */
+public final class DeadlineKeywordExtraction implements DeadlineKeywordExtractionMXBean {
+    private static Logger logger = Logger.getLogger(DeadlineKeywordExtraction.class.getName());
+
+    private static final String DOMAIN = "com.skplanet.nlp";
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    /**
+     * Where a result comes from
+     */
+    public enum Source {
+        // complete NLP extraction
+        NLP,
+        // NLP extraction of the sentences analyzed before the deadline
+        PARTIAL,
+        // fallback extractor
+        FALLBACK
+    }
+
+    private final NLPKeywordExtraction nlp;
+    private final KeywordExtractionImpl fallback;
+    private final String name;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledThreadPoolExecutor timer;
+    // builds the answers of expired requests, never shared with other work
+    private final ThreadPoolExecutor expiries;
+
+    // statistics
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong partials = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private ObjectName objectName = null;
+
+    /**
+     * Constructor, starts the workers
+     * @param nlp initialized NLP extractor
+     * @param fallback initialized, thread-safe fallback extractor, e.g. {@link SimpleKeywordExtraction}
+     * @param threads number of NLP workers
+     * @param queueSize maximum number of requests waiting for a worker
+     */
+    public DeadlineKeywordExtraction(NLPKeywordExtraction nlp, KeywordExtractionImpl fallback, int threads, int queueSize) {
+        this.nlp = nlp;
+        this.fallback = fallback;
+        this.name = "DeadlineKeywordExtraction-" + INSTANCES.incrementAndGet();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize), threadFactory(this.name + "-worker"));
+        this.timer = new ScheduledThreadPoolExecutor(1, threadFactory(this.name + "-timer"));
+        // answered requests cancel their deadline, do not keep it queued until it would have fired
+        this.timer.setRemoveOnCancelPolicy(true);
+        // the fallback is cpu bound, more threads than processors would not answer sooner
+        int expiryThreads = Math.max(1, Math.min(threads, Runtime.getRuntime().availableProcessors()));
+        this.expiries = new ThreadPoolExecutor(expiryThreads, expiryThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), threadFactory(this.name + "-expiry"));
+    }
+
+    private static ThreadFactory threadFactory(final String prefix) {
+        final AtomicInteger count = new AtomicInteger();
+        return new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, prefix + "-" + count.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Ranked Keyword Extraction API, answered by the deadline
+     *
+     * @param text keyword extraction source text
+     * @param topK maximum number of keywords, 0 or less for all
+     * @param timeoutMillis time from now to the deadline
+     * @return future of the top keywords by descending score and their source, never completed exceptionally
+     *         unless the fallback extractor itself fails
+     */
+    public CompletableFuture<Result> extract(final String text, int topK, long timeoutMillis) {
+        this.requests.incrementAndGet();
+        final int k = topK <= 0 ? Integer.MAX_VALUE : topK;
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        final CompletableFuture<Result> future = new CompletableFuture<Result>();
+        // sentences analyzed so far, guarded by its own lock
+        final PartialResult partial = new PartialResult();
+
+        try {
+            this.workers.execute(new Runnable() {
+                public void run() {
+                    analyze(text, k, deadline, partial, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // no room to wait for a worker, answer now
+            this.rejected.incrementAndGet();
+            fallback(text, k, future);
+            return future;
+        }
+
+        // --------------------------- //
+        // deadline
+        // --------------------------- //
+        final ScheduledFuture<?> expiry;
+        try {
+            expiry = this.timer.schedule(new Runnable() {
+                public void run() {
+                    expire(text, k, partial, future);
+                }
+            }, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // closed meanwhile, the worker still answers
+            return future;
+        }
+        future.whenComplete(new BiConsumer<Result, Throwable>() {
+            public void accept(Result result, Throwable throwable) {
+                expiry.cancel(false);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Deadline passed before an answer : the timer only hands over, the answer is built by the expiry threads
+     */
+    private void expire(final String text, final int topK, final PartialResult partial,
+                        final CompletableFuture<Result> future) {
+        if (future.isDone()) {
+            return;
+        }
+        Runnable answer = new Runnable() {
+            public void run() {
+                if (!answerPartial(topK, partial, future) && fallback(text, topK, future)) {
+                    timeouts.incrementAndGet();
+                }
+            }
+        };
+        try {
+            this.expiries.execute(answer);
+        } catch (RejectedExecutionException e) {
+            // closed meanwhile, answer on the timer
+            answer.run();
+        }
+    }
+
+    /**
+     * Answer with the sentences analyzed so far, if any and unless answered meanwhile
+     * @return true if the request is answered now or was already
+     */
+    private boolean answerPartial(int topK, PartialResult partial, CompletableFuture<Result> future) {
+        synchronized (partial) {
+            if (future.isDone()) {
+                return true;
+            }
+            if (partial.size() == 0) {
+                return false;
+            }
+            if (future.complete(new Result(rank(this.nlp.extract(partial), topK), Source.PARTIAL))) {
+                this.timeouts.incrementAndGet();
+                this.partials.incrementAndGet();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * NLP extraction on a worker, sentence by sentence until the deadline
+     */
+    private void analyze(String text, int topK, long deadline, PartialResult partial,
+                         CompletableFuture<Result> future) {
+        if (future.isDone()) {
+            // answered while queued
+            return;
+        }
+        try {
+            if (this.nlp.partial(text, deadline, future, partial) == 0) {
+                // complete, no longer written to
+                if (future.complete(new Result(rank(this.nlp.extract(partial), topK), Source.NLP))) {
+                    this.completed.incrementAndGet();
+                }
+            } else if (!answerPartial(topK, partial, future) && fallback(text, topK, future)) {
+                this.timeouts.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            this.failed.incrementAndGet();
+            logger.warn(this.name + " : nlp extraction failed, falling back", e);
+            fallback(text, topK, future);
+        }
+    }
+
+    /**
+     * Answer with the fallback extractor, unless answered meanwhile
+     * @return true if this answered the request
+     */
+    private boolean fallback(String text, int topK, CompletableFuture<Result> future) {
+        if (future.isDone()) {
+            return false;
+        }
+        try {
+            Result result = new Result(this.fallback.extract(text, topK), Source.FALLBACK);
+            if (future.complete(result)) {
+                this.fallbacks.incrementAndGet();
+                return true;
+            }
+            return false;
+        } catch (RuntimeException e) {
+            return future.completeExceptionally(e);
+        }
+    }
+
+    private static LinkedHashMap<String, Double> rank(Map<String, Double> scores, int topK) {
+        TopK top = new TopK(topK);
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            top.offer(entry.getKey(), entry.getValue());
+        }
+        return top.result();
+    }
+
+    // ---- statistics ---- //
+
+    public long getRequests() {
+        return this.requests.get();
+    }
+
+    public long getCompleted() {
+        return this.completed.get();
+    }
+
+    public long getTimeouts() {
+        return this.timeouts.get();
+    }
+
+    public long getPartials() {
+        return this.partials.get();
+    }
+
+    public long getFallbacks() {
+        return this.fallbacks.get();
+    }
+
+    public long getRejected() {
+        return this.rejected.get();
+    }
+
+    public long getFailed() {
+        return this.failed.get();
+    }
+
+    public int getQueued() {
+        return this.workers.getQueue().size();
+    }
+
+    public void reset() {
+        this.requests.set(0);
+        this.completed.set(0);
+        this.timeouts.set(0);
+        this.partials.set(0);
+        this.fallbacks.set(0);
+        this.rejected.set(0);
+        this.failed.set(0);
+    }
+
+    /**
+     * Register to the platform MBean server, failures are logged only
+     */
+    public synchronized void register() {
+        if (this.objectName != null) {
+            return;
+        }
+        try {
+            ObjectName candidate = new ObjectName(DOMAIN + ":type=DeadlineKeywordExtraction,name=" + ObjectName.quote(this.name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, candidate);
+            this.objectName = candidate;
+            logger.info("deadline extraction registered : " + candidate);
+        } catch (JMException e) {
+            logger.warn("failed to register deadline extraction : " + this.name, e);
+        }
+    }
+
+    /**
+     * Stop taking requests for the workers and unregister from the MBean server,
+     * requests already submitted still complete, later ones are answered by the fallback
+     */
+    public synchronized void close() {
+        this.workers.shutdown();
+        this.timer.shutdown();
+        this.expiries.shutdown();
+        if (this.objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+            } catch (JMException e) {
+                logger.warn("failed to unregister deadline extraction : " + this.objectName, e);
+            }
+            this.objectName = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.name + " : requests " + getRequests()
+                + ", completed " + getCompleted()
+                + ", timeouts " + getTimeouts()
+                + ", partials " + getPartials()
+                + ", fallbacks " + getFallbacks()
+                + ", rejected " + getRejected()
+                + ", failed " + getFailed()
+                + ", queued " + getQueued();
+    }
+
+    /**
+     * Keywords of a request and where they come from
+     */
+    public static final class Result {
+        private final LinkedHashMap<String, Double> keywords;
+        private final Source source;
+
+        Result(LinkedHashMap<String, Double> keywords, Source source) {
+            this.keywords = keywords;
+            this.source = source;
+        }
+
+        /**
+         * Get keywords
+         * @return top keywords by descending score, ties broken by keyword
+         */
+        public LinkedHashMap<String, Double> getKeywords() {
+            return this.keywords;
+        }
+
+        public Source getSource() {
+            return this.source;
+        }
+
+        /**
+         * Whether the deadline (or a failure) degraded the result
+         * @return true unless a complete NLP extraction
+         */
+        public boolean isDegraded() {
+            return this.source != Source.NLP;
+        }
+
+        @Override
+        public String toString() {
+            return this.source + " " + this.keywords;
+        }
+    }
+}
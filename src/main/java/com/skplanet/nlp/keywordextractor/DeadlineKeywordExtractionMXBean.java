@@ -0,0 +1,62 @@
+package com.skplanet.nlp.keywordextractor;
+
+/**
+ * <br>
+ *     JMX view of {@link DeadlineKeywordExtraction}
+ * <br>
+ */
+public interface DeadlineKeywordExtractionMXBean {
+
+    /**
+     * Number of extraction requests
+     * @return request count
+     */
+    long getRequests();
+
+    /**
+     * Number of requests answered by a complete NLP extraction
+     * @return complete count
+     */
+    long getCompleted();
+
+    /**
+     * Number of requests whose deadline passed before the NLP extraction completed
+     * @return timeout count
+     */
+    long getTimeouts();
+
+    /**
+     * Number of requests answered from the sentences analyzed before the deadline
+     * @return partial result count
+     */
+    long getPartials();
+
+    /**
+     * Number of requests answered by the fallback extractor
+     * @return fallback count
+     */
+    long getFallbacks();
+
+    /**
+     * Number of requests not queued for NLP extraction because the queue was full
+     * @return rejection count
+     */
+    long getRejected();
+
+    /**
+     * Number of NLP extractions that failed with an exception
+     * @return failure count
+     */
+    long getFailed();
+
+    /**
+     * Number of requests waiting for an NLP worker
+     * @return queue depth
+     */
+    int getQueued();
+
+    /**
+     * Clear all counters
+     */
+    void reset();
+}
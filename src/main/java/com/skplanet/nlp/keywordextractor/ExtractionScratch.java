@@ -0,0 +1,167 @@
+package com.skplanet.nlp.keywordextractor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <br>
+ *     Reusable Extraction Buffers
+ * <br>
+ *     Candidate lists, candidate and word tables, scores and the top-K heap of one extraction,
+ *     cleared between documents but never shrunk, so a batch allocates them once :
+ *     per document only the candidate and word strings and the result are left as garbage.
+ *     Distinct candidates are tokenized once, later occurrences only count their word ids again.
+ *     Not thread-safe, one instance per batch.
+ * <br>
+ */
+final class ExtractionScratch {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // keyword candidates of the current document, in order of appearance
+    final List<String> candidates = new ArrayList<String>();
+    // keyword candidates of the current document with their words, when cut from analyzed sentences
+    final CandidateList analyzed = new CandidateList();
+
+    // distinct candidates, candidate id is the scorer candidate index
+    private final WordTable distinct = new WordTable();
+    private final RakeScorer scorer = new RakeScorer();
+    // candidate scores and top-K heap (worst ranked on top), by candidate id
+    private double[] scores = new double[INITIAL_CAPACITY];
+    private int[] heap = new int[INITIAL_CAPACITY];
+
+    /**
+     * Forget the current document, keeping the allocated capacity
+     */
+    void clear() {
+        this.candidates.clear();
+        this.analyzed.clear();
+        this.distinct.clear();
+        this.scorer.clear();
+    }
+
+    /**
+     * Count another occurrence of a candidate already added
+     * @param candidate keyword candidate
+     * @return false if the candidate is new, add it with {@link #add(String, List)} then
+     */
+    boolean increment(String candidate) {
+        int id = this.distinct.get(candidate);
+        if (id < 0) {
+            return false;
+        }
+        this.scorer.repeat(id);
+        return true;
+    }
+
+    /**
+     * Add the first occurrence of a candidate
+     * @param candidate keyword candidate
+     * @param wordList words of the candidate
+     */
+    void add(String candidate, List<String> wordList) {
+        this.distinct.add(candidate);
+        this.scorer.add(wordList);
+    }
+
+    /**
+     * Number of distinct words of the current document
+     * @return word count
+     */
+    int words() {
+        return this.scorer.size();
+    }
+
+    /**
+     * Score the current document and select its best candidates
+     * @param topK maximum number of keywords, 0 or less for all
+     * @param minLength shorter candidates are not keywords
+     * @return keywords by descending score, ties broken by keyword
+     */
+    KeywordResult select(int topK, int minLength) {
+        this.scorer.computeScores();
+        final int n = this.distinct.size();
+        final int k = topK <= 0 ? n : Math.min(topK, n);
+        if (this.scores.length < n) {
+            this.scores = new double[Math.max(n, this.scores.length * 2)];
+        }
+        if (this.heap.length < k) {
+            this.heap = new int[Math.max(k, this.heap.length * 2)];
+        }
+
+        // ------------------------------------- //
+        // bounded heap over distinct candidates
+        // ------------------------------------- //
+        int size = 0;
+        for (int id = 0; id < n; id++) {
+            if (this.distinct.word(id).length() < minLength) {
+                continue;
+            }
+            this.scores[id] = this.scorer.score(id);
+            if (size < k) {
+                this.heap[size] = id;
+                siftUp(size++);
+            } else if (k > 0 && rank(id, this.heap[0]) < 0) {
+                this.heap[0] = id;
+                siftDown(0, size);
+            }
+        }
+
+        // ------------------------------------- //
+        // drain worst first into rank order
+        // ------------------------------------- //
+        String[] keywords = new String[size];
+        double[] keywordScores = new double[size];
+        for (int i = size - 1; i >= 0; i--) {
+            int id = this.heap[0];
+            keywords[i] = this.distinct.word(id);
+            keywordScores[i] = this.scores[id];
+            this.heap[0] = this.heap[i];
+            siftDown(0, i);
+        }
+        return new KeywordResult(keywords, keywordScores);
+    }
+
+    /**
+     * Ranking order of two candidates, as {@link com.skplanet.nlp.util.TopK#RANK}
+     * @return negative if a ranks before b
+     */
+    private int rank(int a, int b) {
+        int c = Double.compare(this.scores[b], this.scores[a]);
+        return c != 0 ? c : this.distinct.word(a).compareTo(this.distinct.word(b));
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (rank(this.heap[i], this.heap[parent]) <= 0) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int size) {
+        while (true) {
+            int worst = 2 * i + 1;
+            if (worst >= size) {
+                break;
+            }
+            if (worst + 1 < size && rank(this.heap[worst + 1], this.heap[worst]) > 0) {
+                worst++;
+            }
+            if (rank(this.heap[worst], this.heap[i]) <= 0) {
+                break;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int tmp = this.heap[i];
+        this.heap[i] = this.heap[j];
+        this.heap[j] = tmp;
+    }
+}
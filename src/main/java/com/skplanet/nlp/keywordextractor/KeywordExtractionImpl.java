@@ -1,8 +1,12 @@
 package com.skplanet.nlp.keywordextractor;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * <br>
@@ -37,6 +41,97 @@ public interface KeywordExtractionImpl {
      */
     Map<String, Double> extract(String text);
 
+    /**
+     * Ranked Keyword Extraction API
+     * - selects the top keywords without sorting the whole candidate set
+     * @param text keyword extraction source text
+     * @param topK maximum number of keywords, 0 or less for all
+     * @return top keywords by descending score, ties broken by keyword
+     */
+    LinkedHashMap<String, Double> extract(String text, int topK);
+
+    /**
+     * Bulk Keyword Extraction API
+     * - one set of scratch buffers serves the whole batch, results are compact ranked arrays
+     * @param texts keyword extraction source texts
+     * @param topK maximum number of keywords per text, 0 or less for all
+     * @return result of each text, in order, same keywords as extract(text, topK)
+     */
+    List<KeywordResult> extractBatch(List<String> texts, int topK);
+
+    /**
+     * Bulk Keyword Extraction API, lazy
+     * - each text is extracted when its result is requested, on the calling thread
+     * @param texts keyword extraction source texts
+     * @param topK maximum number of keywords per text, 0 or less for all
+     * @return result of each text, in order
+     */
+    Iterator<KeywordResult> extractBatch(Iterator<String> texts, int topK);
+
+    /**
+     * Keyword Extraction API, scored against corpus statistics
+     * @param text keyword extraction source text
+     * @param corpus corpus statistics, null to score against the text itself
+     * @return keyword and score pair
+     */
+    Map<String, Double> extract(String text, CorpusStatistics corpus);
+
+    /**
+     * Add text to corpus statistics
+     * @param text document text
+     * @param corpus corpus statistics to update
+     */
+    void accumulate(String text, CorpusStatistics corpus);
+
+    /**
+     * Partial Extraction API
+     * - candidates and word statistics of a chunk of a document, split at sentence boundaries
+     * @param text chunk of a document
+     * @return mergeable partial result
+     */
+    PartialResult partial(String text);
+
+    /**
+     * Keyword Extraction API, from merged partial results
+     * @param partial partial results of every chunk of a document, merged
+     * @return keyword and score pair, same as extract() of the whole document
+     */
+    Map<String, Double> extract(PartialResult partial);
+
+    /**
+     * Parallel Keyword Extraction API
+     * - sentences are processed in parallel chunks and the partial results merged
+     * - the NLP extractor only runs in parallel with a pooled analyzer, and its workers block waiting
+     *   for one : give it a dedicated pool, never the common pool
+     * @param text keyword extraction source text
+     * @param pool fork/join pool to run on
+     * @return keyword and score pair, same as extract(text)
+     */
+    Map<String, Double> extract(String text, ForkJoinPool pool);
+
+    /**
+     * Streaming Partial Extraction API
+     * - text is read sentence by sentence through a bounded buffer, memory is proportional to the vocabulary
+     * @param reader document text, not closed
+     * @return partial result of the whole document
+     */
+    PartialResult partial(Reader reader) throws IOException;
+
+    /**
+     * Streaming Keyword Extraction API
+     * @param reader document text, not closed
+     * @return keyword and score pair
+     */
+    Map<String, Double> extract(Reader reader) throws IOException;
+
+    /**
+     * Streaming Keyword Extraction API, scored against corpus statistics
+     * @param reader document text, not closed
+     * @param corpus corpus statistics, null to score against the text itself
+     * @return keyword and score pair
+     */
+    Map<String, Double> extract(Reader reader, CorpusStatistics corpus) throws IOException;
+
     /**
      * Loading Stopword Dictionary
      *
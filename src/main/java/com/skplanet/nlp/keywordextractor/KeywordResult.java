@@ -0,0 +1,73 @@
+package com.skplanet.nlp.keywordextractor;
+
+import java.util.LinkedHashMap;
+
+/**
+ * <br>
+ *     Compact Keyword Extraction Result
+ * <br>
+ *     Ranked keywords and their scores as two parallel arrays, best first, ties broken by keyword.
+ *     Three objects per document instead of a map entry and a boxed score per keyword.
+ *     Immutable.
+ * <br>
+ */
+public final class KeywordResult {
+
+    private final String[] keywords;
+    private final double[] scores;
+
+    KeywordResult(String[] keywords, double[] scores) {
+        this.keywords = keywords;
+        this.scores = scores;
+    }
+
+    /**
+     * Number of keywords
+     * @return keyword count
+     */
+    public int size() {
+        return this.keywords.length;
+    }
+
+    /**
+     * Get keyword by rank
+     * @param rank 0 for the best keyword
+     * @return keyword
+     */
+    public String getKeyword(int rank) {
+        return this.keywords[rank];
+    }
+
+    /**
+     * Get score by rank
+     * @param rank 0 for the best keyword
+     * @return keyword score
+     */
+    public double getScore(int rank) {
+        return this.scores[rank];
+    }
+
+    /**
+     * Map view, same as the ranked extract(text, topK)
+     * @return keywords by descending score
+     */
+    public LinkedHashMap<String, Double> toMap() {
+        LinkedHashMap<String, Double> map = new LinkedHashMap<String, Double>();
+        for (int i = 0; i < this.keywords.length; i++) {
+            map.put(this.keywords[i], this.scores[i]);
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < this.keywords.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(this.keywords[i]).append('=').append(this.scores[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
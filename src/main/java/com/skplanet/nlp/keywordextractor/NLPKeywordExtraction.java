@@ -2,18 +2,39 @@ package com.skplanet.nlp.keywordextractor;
 
 import com.skplanet.nlp.common.Properties;
 import com.skplanet.nlp.config.Configuration;
+import com.skplanet.nlp.metrics.ExtractionMetrics;
+import com.skplanet.nlp.stopword.CustomStopwords;
+import com.skplanet.nlp.stopword.LanguageDictionaries;
+import com.skplanet.nlp.stopword.StopwordDictionary;
+import com.skplanet.nlp.stopword.StopwordFileWatcher;
+import com.skplanet.nlp.stopword.StopwordFiles;
+import com.skplanet.nlp.stopword.StopwordSplitter;
+import com.skplanet.nlp.util.AnalyzedSentence;
+import com.skplanet.nlp.util.AnalyzerPool;
+import com.skplanet.nlp.util.Language;
+import com.skplanet.nlp.util.LRUCache;
+import com.skplanet.nlp.util.MorphAnalyzer;
 import com.skplanet.nlp.util.OMPNLP;
+import com.skplanet.nlp.util.PosTags;
+import com.skplanet.nlp.util.SentenceReader;
+import com.skplanet.nlp.util.TopK;
 import org.apache.log4j.Logger;
 
 import java.io.*;
 import java.net.URL;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * NLP Keyword Extractor <br>
  * - Using NLP Module.<br>
- * - Must use NLPAPI for pos tagging, tokenize and sentence break<br>
+ * - Uses a {@link MorphAnalyzer} for pos tagging and sentence break, by default a pool of<br>
+ *   ANALYZER_POOL_SIZE NLPAPI (OMPNLP) instances, each serving one thread at a time<br>
+ * - Thread-safe: extract() keeps no per-call state in members, one instance may serve many threads<br>
  * <br>
  * <br>
  * Created by Donghun Shin
@@ -28,29 +49,58 @@ public final class NLPKeywordExtraction implements KeywordExtractionImpl {
     //logger
     private static Logger logger = Logger.getLogger(NLPKeywordExtraction.class.getName());
 
-    // OMP NLP Utility
-    private OMPNLP nlp = OMPNLP.getInstance();
-
-    // Preprocessed Documents List
-    private List<String> sentences = null;
+    // morphological analyzer
+    private final MorphAnalyzer nlp;
 
     // -------------- //
     // members
     // -------------- //
     // minimum word length of each word in candidates phrase , 0 by default
-    private int MIN_WORD_LEN = 0;
+    private final int MIN_WORD_LEN;
 
     // minimum token length
-    private int MIN_TOKEN_LEN = 0;
+    private final int MIN_TOKEN_LEN;
 
-    // stopword list
-    private List<String> stopwordList = new ArrayList<String>();
-    // stopword pattern
-    private Pattern stopwordPattern = null;
+    // stopword dictionary snapshot (immutable, swapped as a whole on load)
+    private final AtomicReference<StopwordDictionary> dictionary = new AtomicReference<StopwordDictionary>();
+    // stopword dictionary generation
+    private final AtomicLong generation = new AtomicLong();
+    // stopword file watching interval in seconds, 0 = off
+    private final long watchInterval;
+    // stopword file watcher
+    private StopwordFileWatcher watcher = null;
+    // stopword splitter engine
+    private final String splitterEngine;
+    // dictionaries of the other languages, null if documents are not routed by language
+    private final LanguageDictionaries languages;
     // stopword file
-    private File stopwordFile = null;
-    // stoptag list
-    private Set<String> stoptag = null;
+    private final File stopwordFile;
+    // stoptag list (immutable)
+    private final Set<String> stoptag;
+    // stoptag ids, see PosTags
+    private final BitSet stoptagIds = new BitSet();
+    // custom token / morph stopwords (immutable)
+    private final CustomStopwords custom;
+    // every splitter splits at it
+    private static final char SEPARATOR = '|';
+    // marker written in place of a custom morph
+    private static final String CUSTOM_MORPH_SEPARATOR = String.valueOf(SEPARATOR);
+    // stage metrics, null if disabled
+    private final ExtractionMetrics metrics;
+    private final long metricsLogInterval;
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+    // analyzed sentence cache, keyed by normalized sentence, null if disabled
+    private final LRUCache<String, AnalyzedSentence> analysisCache;
+    // longer sentences are not cached
+    private static final int MAX_CACHED_SENTENCE_LEN = 1024;
+    // number of sentences per parallel chunk
+    private static final int PARALLEL_CHUNK_SIZE = 16;
+    // documents with at least this many sentences are analyzed in parallel, 0 = never
+    private final int parallelThreshold;
+    // parallel sentence analysis workers, one per pooled analyzer, null if not analyzed in parallel
+    private final ForkJoinPool sentencePool;
+    // streamed text is cut into chunks after one of these
+    private static final String SENTENCE_TERMINATORS = ".!?\n\r";
 
 
     // -------------------- //
@@ -58,11 +108,34 @@ public final class NLPKeywordExtraction implements KeywordExtractionImpl {
     // -------------------- //
     /**
      * Constructor
+     * - pooled NLPAPI analyzer, ANALYZER_POOL_SIZE instances
      */
     public NLPKeywordExtraction() throws IOException {
-        // initialize members
-        this.sentences = new ArrayList<String>();
-        this.stoptag = new HashSet<String>();
+        this(defaultAnalyzer());
+    }
+
+    /**
+     * NLPAPI analyzer : the shared pool, even of a single instance, so that concurrent calls never share an NLPAPI
+     */
+    private static MorphAnalyzer defaultAnalyzer() throws IOException {
+        Configuration config = Configuration.getInstance();
+        config.loadProperties(Properties.RAKE_CONFIG);
+        String poolSize = config.readProperty(Properties.RAKE_CONFIG, Properties.ANALYZER_POOL_SIZE);
+        int size = (poolSize == null || poolSize.trim().length() == 0) ? 0 : Integer.parseInt(poolSize.trim());
+        if (size == 0) {
+            size = Runtime.getRuntime().availableProcessors();
+        }
+        String poolTimeout = config.readProperty(Properties.RAKE_CONFIG, Properties.ANALYZER_POOL_TIMEOUT);
+        long timeout = (poolTimeout == null || poolTimeout.trim().length() == 0) ? 30000L : Long.parseLong(poolTimeout.trim());
+        return OMPNLP.getPool(size, timeout);
+    }
+
+    /**
+     * Constructor
+     * @param analyzer morphological analyzer
+     */
+    public NLPKeywordExtraction(MorphAnalyzer analyzer) throws IOException {
+        this.nlp = analyzer;
 
         // -------------------- //
         // load configuration
@@ -76,7 +149,57 @@ public final class NLPKeywordExtraction implements KeywordExtractionImpl {
 
         // stoptags
         String stoptags = config.readProperty(Properties.RAKE_CONFIG, Properties.STOPTAG);
-        Collections.addAll(this.stoptag, stoptags.split(","));
+        Set<String> tags = new HashSet<String>();
+        Collections.addAll(tags, stoptags.split(","));
+        this.stoptag = Collections.unmodifiableSet(tags);
+        for (String tag : tags) {
+            this.stoptagIds.set(PosTags.id(tag));
+        }
+
+        // custom token / morph stopwords, optional
+        URL customUrl = config.getResource(Properties.STOPWORD_CUSTOM_FILE);
+        this.custom = customUrl == null ? CustomStopwords.EMPTY : CustomStopwords.read(new File(customUrl.getFile()));
+        logger.info("custom stopwords : " + this.custom);
+
+        // stopword splitter engine
+        this.splitterEngine = config.readProperty(Properties.RAKE_CONFIG, Properties.STOPWORD_SPLITTER);
+
+        // language routing, other languages' dictionaries are loaded on first use
+        String routing = config.readProperty(Properties.RAKE_CONFIG, Properties.LANGUAGE_ROUTING);
+        this.languages = "1".equals(routing == null ? null : routing.trim())
+                ? LanguageDictionaries.configure(config, this.splitterEngine, this.stoptag) : null;
+        if (this.languages != null) {
+            logger.info(this.languages);
+        }
+
+        // stopword file watching interval
+        String interval = config.readProperty(Properties.RAKE_CONFIG, Properties.STOPWORD_WATCH_INTERVAL);
+        this.watchInterval = (interval == null || interval.trim().length() == 0) ? 0 : Long.parseLong(interval.trim());
+
+        // analysis cache
+        String cacheSize = config.readProperty(Properties.RAKE_CONFIG, Properties.ANALYSIS_CACHE_SIZE);
+        int size = (cacheSize == null || cacheSize.trim().length() == 0) ? 0 : Integer.parseInt(cacheSize.trim());
+        this.analysisCache = size > 0 ? new LRUCache<String, AnalyzedSentence>(size) : null;
+
+        // metrics
+        String metricsEnabled = config.readProperty(Properties.RAKE_CONFIG, Properties.METRICS_ENABLED);
+        this.metrics = "1".equals(metricsEnabled == null ? null : metricsEnabled.trim())
+                ? new ExtractionMetrics("NLPKeywordExtraction-" + INSTANCES.incrementAndGet()) : null;
+        String metricsInterval = config.readProperty(Properties.RAKE_CONFIG, Properties.METRICS_LOG_INTERVAL);
+        this.metricsLogInterval = (metricsInterval == null || metricsInterval.trim().length() == 0)
+                ? 0 : Long.parseLong(metricsInterval.trim());
+
+        // parallel sentence analysis
+        String threshold = config.readProperty(Properties.RAKE_CONFIG, Properties.PARALLEL_SENTENCE_THRESHOLD);
+        int parallel = (threshold == null || threshold.trim().length() == 0) ? 0 : Integer.parseInt(threshold.trim());
+        if (parallel > 0 && !(analyzer instanceof AnalyzerPool)) {
+            // a single analyzer would be called from every worker at once
+            logger.warn("parallel sentence analysis needs a pooled analyzer, disabled");
+            parallel = 0;
+        }
+        this.parallelThreshold = parallel;
+        // own workers : they block waiting for a free analyzer, which must not starve the common pool
+        this.sentencePool = parallel > 0 ? new ForkJoinPool(((AnalyzerPool) analyzer).getSize()) : null;
 
         // Minimum Word Length in candidates phrase
         this.MIN_WORD_LEN = Integer.parseInt(config.readProperty(Properties.RAKE_CONFIG, Properties.MIN_WORD_LEN));
@@ -99,6 +222,64 @@ public final class NLPKeywordExtraction implements KeywordExtractionImpl {
         }
         loadStopword();
         logger.info("done");
+
+        // watch stopword file
+        if (this.watchInterval > 0 && this.watcher == null) {
+            this.watcher = new StopwordFileWatcher(this.stopwordFile, new StopwordFileWatcher.Listener() {
+                public void stopwordChanged(File file) throws IOException {
+                    reloadStopword();
+                }
+            });
+            this.watcher.start(this.watchInterval);
+        }
+
+        // publish metrics
+        if (this.metrics != null) {
+            this.metrics.register();
+            if (this.metricsLogInterval > 0) {
+                this.metrics.startReporting(this.metricsLogInterval);
+            }
+        }
+    }
+
+    /**
+     * Stop background stopword watching and parallel sentence analysis
+     */
+    public void close() {
+        if (this.sentencePool != null) {
+            this.sentencePool.shutdown();
+        }
+        if (this.watcher != null) {
+            this.watcher.stop();
+            this.watcher = null;
+        }
+        if (this.metrics != null) {
+            this.metrics.close();
+        }
+    }
+
+    /**
+     * Get stage metrics
+     * @return metrics, null if disabled (METRICS_ENABLED)
+     */
+    public ExtractionMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Get current stopword dictionary snapshot, including reload metrics
+     * @return stopword dictionary, null before init()
+     */
+    public StopwordDictionary getStopwordDictionary() {
+        return this.dictionary.get();
+    }
+
+    /**
+     * Get per-language stopword dictionaries
+     * @return language dictionaries, null if language routing is off
+     */
+    public LanguageDictionaries getLanguageDictionaries() {
+        return this.languages;
     }
 
     /**
@@ -108,51 +289,227 @@ public final class NLPKeywordExtraction implements KeywordExtractionImpl {
      * @return list of tokens
      */
     public List<String> tokenize(String sentence) {
-        String tmp = sentence.replaceAll("(\\s+)", " ");
-        List<String> result = new ArrayList<String>();
-        for (String word : tmp.split(" ")) {
-            if (word.length() < MIN_WORD_LEN) {
-                continue;
+        return tokenize(sentence, new ArrayList<String>());
+    }
+
+    private List<String> tokenize(String sentence, List<String> result) {
+        final int length = sentence.length();
+        int i = 0;
+        while (i < length) {
+            // skip whitespace run
+            while (i < length && isWhitespace(sentence.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !isWhitespace(sentence.charAt(i))) {
+                i++;
+            }
+            if (i > start && i - start >= MIN_WORD_LEN) {
+                String token = sentence.substring(start, i);
+                if (!this.custom.isToken(token)) {
+                    result.add(token);
+                }
             }
-            result.add(word);
         }
         return result;
     }
 
+    // whitespace, as \s in java.util.regex
+    private static boolean isWhitespace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+
     /**
      * Sentence Breaker
      * - Preprocessing raw input document to nlp-processed form
      *
      * @param document document to be split by sentence
-     * @return list of sentence
+     * @return list of nlp-processed sentence
      */
     public List<String> sentence(String document) {
+        List<AnalyzedSentence> analyzed = analyzeDocument(document);
+        List<String> sentences = new ArrayList<String>(analyzed.size());
+        for (AnalyzedSentence sentence : analyzed) {
+            sentences.add(compile(sentence));
+        }
+        return sentences;
+    }
+
+    /**
+     * Split a document into sentences and analyze each of them
+     *
+     * @param document document to be analyzed
+     * @return analyzed non blank sentences, in document order
+     */
+    private List<AnalyzedSentence> analyzeDocument(String document) {
+        final ExtractionMetrics metrics = this.metrics;
+        List<AnalyzedSentence> sentences = new ArrayList<AnalyzedSentence>();
+        long start = metrics == null ? 0L : System.nanoTime();
         String[] nlpSents = nlp.getSentences(document);
+        if (metrics != null) {
+            long now = System.nanoTime();
+            metrics.time(ExtractionMetrics.Stage.SEGMENT, now - start);
+            start = now;
+        }
+        if (this.parallelThreshold > 0 && nlpSents.length >= this.parallelThreshold) {
+            return analyzeParallel(nlpSents);
+        }
         for (String sent : nlpSents) {
             if (sent.trim().length() == 0) {
                 continue;
             }
-            StringBuilder morphs = new StringBuilder();
-            String[] tags = nlp.getPOSTags(sent);
-            String[] morps = nlp.getMorphs(sent);
-            boolean preStopTag = false;
-            for (int i = 0; i < tags.length; i++) {
-                if (this.stoptag.contains(tags[i])) {
-                    if (preStopTag) {
-                        continue;
-                    }
-                    morphs.append(tags[i] + " ");
-                    preStopTag = true;
-                } else {
-                    morphs.append(morps[i] + " ");
-                    preStopTag = false;
+            sentences.add(analyze(sent));
+            if (metrics != null) {
+                long now = System.nanoTime();
+                metrics.time(ExtractionMetrics.Stage.ANALYZE, now - start);
+                start = now;
+            }
+        }
+        if (metrics != null) {
+            metrics.count(ExtractionMetrics.Count.SENTENCES, sentences.size());
+        }
+        return sentences;
+    }
+
+    /**
+     * Analyze sentences in parallel chunks, on workers as many as the pooled analyzers
+     *
+     * @param nlpSents sentences of a document
+     * @return analyzed non blank sentences, in document order
+     */
+    private List<AnalyzedSentence> analyzeParallel(String[] nlpSents) {
+        final ExtractionMetrics metrics = this.metrics;
+        AnalyzedSentence[] analyzed = new AnalyzedSentence[nlpSents.length];
+        SentenceTask.Analysis analysis = new SentenceTask.Analysis() {
+            public AnalyzedSentence analyze(String sent) {
+                if (sent.trim().length() == 0) {
+                    return null;
+                }
+                final long start = metrics == null ? 0L : System.nanoTime();
+                AnalyzedSentence sentence = NLPKeywordExtraction.this.analyze(sent);
+                if (metrics != null) {
+                    metrics.time(ExtractionMetrics.Stage.ANALYZE, System.nanoTime() - start);
                 }
+                return sentence;
             }
+        };
+        this.sentencePool.invoke(new SentenceTask(analysis, nlpSents, analyzed, 0, nlpSents.length, PARALLEL_CHUNK_SIZE));
 
-            this.sentences.add(morphs.toString().trim());
+        List<AnalyzedSentence> sentences = new ArrayList<AnalyzedSentence>(analyzed.length);
+        for (AnalyzedSentence sentence : analyzed) {
+            if (sentence != null) {
+                sentences.add(sentence);
+            }
         }
-        // sentences are globally assigned, no need to return
-        return null;
+        if (metrics != null) {
+            metrics.count(ExtractionMetrics.Count.SENTENCES, sentences.size());
+        }
+        return sentences;
+    }
+
+    /**
+     * Analyze a single sentence, through the analysis cache if enabled
+     * - the analyzer always gets the normalized sentence, so the result does not depend on caching
+     *
+     * @param sent single, non blank sentence
+     * @return analyzed sentence
+     */
+    private AnalyzedSentence analyze(String sent) {
+        String key = normalize(sent);
+        if (this.analysisCache == null || key.length() > MAX_CACHED_SENTENCE_LEN) {
+            return nlp.analyze(key);
+        }
+
+        // repeated sentences skip the analyzer
+        AnalyzedSentence analyzed = this.analysisCache.get(key);
+        if (analyzed == null) {
+            analyzed = nlp.analyze(key);
+            this.analysisCache.put(key, analyzed);
+        }
+        return analyzed;
+    }
+
+    /**
+     * Compile an analyzed sentence into nlp-processed form :
+     * morphs separated by space, each run of stoptag morphs replaced by its first tag
+     *
+     * @param analyzed analyzed sentence
+     * @return nlp-processed sentence
+     */
+    private String compile(AnalyzedSentence analyzed) {
+        StringBuilder morphs = new StringBuilder();
+        boolean preStopTag = false;
+        for (int i = 0; i < analyzed.size(); i++) {
+            if (this.stoptagIds.get(analyzed.getTagId(i))) {
+                if (preStopTag) {
+                    continue;
+                }
+                morphs.append(analyzed.getTag(i)).append(' ');
+                preStopTag = true;
+            } else if (this.custom.isMorph(analyzed.getMorph(i))) {
+                // custom morph splits like a stoptag, through the splitter separator
+                if (preStopTag) {
+                    continue;
+                }
+                morphs.append(CUSTOM_MORPH_SEPARATOR).append(' ');
+                preStopTag = true;
+            } else {
+                morphs.append(analyzed.getMorph(i)).append(' ');
+                preStopTag = false;
+            }
+        }
+        return morphs.toString().trim();
+    }
+
+    /**
+     * Analyzer input and cache key : trimmed, whitespace runs collapsed to a single space
+     * - the sentence itself if already normalized
+     */
+    private static String normalize(String sent) {
+        String trimmed = sent.trim();
+        if (isNormalized(trimmed)) {
+            return trimmed;
+        }
+        StringBuilder sb = new StringBuilder(trimmed.length());
+        boolean space = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char ch = trimmed.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                if (!space) {
+                    sb.append(' ');
+                }
+                space = true;
+            } else {
+                sb.append(ch);
+                space = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    // no whitespace but single spaces
+    private static boolean isNormalized(String trimmed) {
+        boolean space = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char ch = trimmed.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                if (space || ch != ' ') {
+                    return false;
+                }
+                space = true;
+            } else {
+                space = false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get analysis cache, including hit / miss / eviction counters
+     * @return analysis cache, null if disabled
+     */
+    public LRUCache<String, AnalyzedSentence> getAnalysisCache() {
+        return this.analysisCache;
     }
 
     /**
@@ -162,140 +519,530 @@ public final class NLPKeywordExtraction implements KeywordExtractionImpl {
      * @return keyword and score pair
      */
     public Map<String, Double> extract(String text) {
-        List<String> keywordCandidatesList = new ArrayList<String>();
-        Map<String, Double> keywordScore = new HashMap<String, Double>();
+        return extract(text, (CorpusStatistics) null);
+    }
 
-        // ------------------------------- //
-        // Generate Keyword Candidates
-        // ------------------------------- //
+    /**
+     * Keyword Extraction API, scored against corpus statistics
+     *
+     * @param text keyword extraction source text
+     * @param corpus corpus statistics, null to score against the text itself
+     * @return keyword and score pair
+     */
+    public Map<String, Double> extract(String text, CorpusStatistics corpus) {
+        final long start = this.metrics == null ? 0L : System.nanoTime();
+        CandidateList keywordCandidatesList = candidates(text);
+        RakeScorer scorer = score(keywordCandidatesList, corpus);
 
-        sentence(text);
-        for (String sentence : this.sentences) {
-            logger.debug("compiled sentence : " + sentence);
-            String[] candidates = this.stopwordPattern.matcher(sentence).replaceAll("|").split("\\|");
-            if (candidates.length > 0) {
-                for (final String candidate : candidates) {
-                    String c = candidate.trim().toLowerCase();
-                    if (c.length() > 0) {
-                        keywordCandidatesList.add(c);
-                    }
-                }
+        // --------------------------- //
+        // calculate candidates score
+        // --------------------------- //
+        final Map<String, Double> result = new HashMap<String, Double>();
+        for (int i = 0; i < keywordCandidatesList.size(); i++) {
+            final String candidate = keywordCandidatesList.phrase(i);
+            if (candidate.length() < MIN_TOKEN_LEN) {
+                continue;
             }
+
+            result.put(candidate, scorer.score(i));
+        }
+        if (this.metrics != null) {
+            this.metrics.time(ExtractionMetrics.Stage.EXTRACT, System.nanoTime() - start);
         }
-        this.sentences.clear();
+        return result;
+    }
 
-        // ----------------------- //
-        // calculate word score
-        // ----------------------- //
-        Map<String, Integer> wordFrequency = new HashMap<String, Integer>();
-        Map<String, Integer> wordDegree = new HashMap<String, Integer>();
+    /**
+     * Ranked Keyword Extraction API
+     *
+     * @param text keyword extraction source text
+     * @param topK maximum number of keywords, 0 or less for all
+     * @return top keywords by descending score, ties broken by keyword
+     */
+    public LinkedHashMap<String, Double> extract(String text, int topK) {
+        final long start = this.metrics == null ? 0L : System.nanoTime();
+        CandidateList keywordCandidatesList = candidates(text);
+        RakeScorer scorer = score(keywordCandidatesList, null);
+        final long selectStart = this.metrics == null ? 0L : System.nanoTime();
 
-        for (String candidate : keywordCandidatesList) {
+        // --------------------------- //
+        // select top candidates
+        // --------------------------- //
+        TopK top = new TopK(topK <= 0 ? Integer.MAX_VALUE : topK);
+        for (int i = 0; i < keywordCandidatesList.size(); i++) {
+            final String candidate = keywordCandidatesList.phrase(i);
+            if (candidate.length() < MIN_TOKEN_LEN) {
+                continue;
+            }
+            top.offer(candidate, scorer.score(i));
+        }
+        LinkedHashMap<String, Double> result = top.result();
+        if (this.metrics != null) {
+            long now = System.nanoTime();
+            this.metrics.time(ExtractionMetrics.Stage.SELECT, now - selectStart);
+            this.metrics.time(ExtractionMetrics.Stage.EXTRACT, now - start);
+        }
+        return result;
+    }
 
-            List<String> wordList = tokenize(candidate);
-            int wordListDegree = wordList.size() - 1;
+    /**
+     * Bulk Keyword Extraction API
+     *
+     * @param texts keyword extraction source texts
+     * @param topK maximum number of keywords per text, 0 or less for all
+     * @return result of each text, in order
+     */
+    public List<KeywordResult> extractBatch(List<String> texts, int topK) {
+        // one dictionary snapshot and one set of buffers for the whole batch
+        final StopwordDictionary dictionary = this.dictionary.get();
+        ExtractionScratch scratch = new ExtractionScratch();
+        List<KeywordResult> results = new ArrayList<KeywordResult>(texts.size());
+        for (String text : texts) {
+            results.add(extract(text, topK, dictionary, scratch));
+        }
+        return results;
+    }
 
-            for (final String word : wordList) {
+    /**
+     * Bulk Keyword Extraction API, lazy
+     *
+     * @param texts keyword extraction source texts
+     * @param topK maximum number of keywords per text, 0 or less for all
+     * @return result of each text, in order
+     */
+    public Iterator<KeywordResult> extractBatch(final Iterator<String> texts, final int topK) {
+        final StopwordDictionary dictionary = this.dictionary.get();
+        final ExtractionScratch scratch = new ExtractionScratch();
+        return new Iterator<KeywordResult>() {
+            public boolean hasNext() {
+                return texts.hasNext();
+            }
 
-                if (!wordFrequency.containsKey(word)) {
-                    wordFrequency.put(word, 0);
-                }
+            public KeywordResult next() {
+                return extract(texts.next(), topK, dictionary, scratch);
+            }
 
-                if (!wordDegree.containsKey(word)) {
-                    wordDegree.put(word, 0);
-                }
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
 
-                wordFrequency.put(word, wordFrequency.get(word) + 1);
-                wordDegree.put(word, wordDegree.get(word) + wordListDegree);
+    /**
+     * Ranked extraction on reused buffers, the words of each distinct candidate are added once
+     */
+    private KeywordResult extract(String text, int topK, StopwordDictionary dictionary, ExtractionScratch scratch) {
+        final long start = this.metrics == null ? 0L : System.nanoTime();
+        scratch.clear();
+        CandidateList candidates = candidates(text, route(dictionary, text), scratch.analyzed);
+        for (int i = 0; i < candidates.size(); i++) {
+            final String candidate = candidates.phrase(i);
+            if (!scratch.increment(candidate)) {
+                scratch.add(candidate, candidates.words(i));
             }
         }
+        KeywordResult result = scratch.select(topK, MIN_TOKEN_LEN);
+        if (this.metrics != null) {
+            this.metrics.count(ExtractionMetrics.Count.UNIQUE_WORDS, scratch.words());
+            this.metrics.time(ExtractionMetrics.Stage.EXTRACT, System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    /**
+     * Add text to corpus statistics
+     *
+     * @param text document text
+     * @param corpus corpus statistics to update
+     */
+    public void accumulate(String text, CorpusStatistics corpus) {
+        CandidateList keywordCandidatesList = candidates(text);
+        List<List<String>> tokenized = new ArrayList<List<String>>(keywordCandidatesList.size());
+        for (int i = 0; i < keywordCandidatesList.size(); i++) {
+            tokenized.add(keywordCandidatesList.words(i));
+        }
+        corpus.add(tokenized);
+    }
+
+    /**
+     * Partial Extraction API
+     *
+     * @param text chunk of a document, split at a sentence boundary
+     * @return mergeable partial result
+     */
+    public PartialResult partial(String text) {
+        return toPartial(candidates(text), new PartialResult());
+    }
 
-        for (String word : wordFrequency.keySet()) {
-            wordDegree.put(word, wordDegree.get(word) + wordFrequency.get(word));
+    /**
+     * Keyword Extraction API, from merged partial results
+     *
+     * @param partial partial results of every chunk of a document, merged
+     * @return keyword and score pair
+     */
+    public Map<String, Double> extract(PartialResult partial) {
+        return partial.scores(MIN_TOKEN_LEN);
+    }
 
-            if (!keywordScore.containsKey(word)) {
-                keywordScore.put(word, 0.0);
+    /**
+     * Streaming Partial Extraction API
+     *
+     * @param reader document text, not closed
+     * @return partial result of the whole document
+     */
+    public PartialResult partial(Reader reader) throws IOException {
+        // read the snapshot once, a concurrent reload must not change it mid-document
+        final StopwordDictionary dictionary = this.dictionary.get();
+        SentenceReader sentences = new SentenceReader(reader, SentenceReader.DEFAULT_CAPACITY, SENTENCE_TERMINATORS);
+        PartialResult partial = new PartialResult();
+        CandidateList keywordCandidatesList = new CandidateList();
+        String chunk;
+        while ((chunk = sentences.next()) != null) {
+            toPartial(candidates(chunk, route(dictionary, chunk), keywordCandidatesList), partial);
+            keywordCandidatesList.clear();
+        }
+        return partial;
+    }
+
+    /**
+     * Streaming Keyword Extraction API
+     *
+     * @param reader document text, not closed
+     * @return keyword and score pair
+     */
+    public Map<String, Double> extract(Reader reader) throws IOException {
+        return extract(reader, null);
+    }
+
+    /**
+     * Streaming Keyword Extraction API, scored against corpus statistics
+     *
+     * @param reader document text, not closed
+     * @param corpus corpus statistics, null to score against the text itself
+     * @return keyword and score pair
+     */
+    public Map<String, Double> extract(Reader reader, CorpusStatistics corpus) throws IOException {
+        return partial(reader).scores(MIN_TOKEN_LEN, corpus);
+    }
+
+    /**
+     * Parallel Keyword Extraction API
+     * - sentences are analyzed in parallel only with a pooled analyzer, otherwise one after another
+     *   on the calling thread, a single analyzer must not be called concurrently
+     * - workers wait for a free pooled analyzer, the pool must not be the common pool :
+     *   a dedicated one no larger than the analyzer pool
+     *
+     * @param text keyword extraction source text
+     * @param pool dedicated fork/join pool to run on
+     * @return keyword and score pair
+     */
+    public Map<String, Double> extract(String text, ForkJoinPool pool) {
+        final String[] sentences = nlp.getSentences(text);
+        // read the snapshot once, a concurrent reload must not change it mid-document
+        final StopwordDictionary dictionary = route(this.dictionary.get(), text);
+        PartialTask.Chunk chunk = new PartialTask.Chunk() {
+            public PartialResult partial(String[] sentences, int from, int to) {
+                CandidateList keywordCandidatesList = new CandidateList();
+                Cutter cutter = new Cutter(dictionary, keywordCandidatesList);
+                for (int i = from; i < to; i++) {
+                    if (sentences[i].trim().length() == 0) {
+                        continue;
+                    }
+                    cutter.cut(analyze(sentences[i]));
+                }
+                return toPartial(keywordCandidatesList, new PartialResult());
             }
-            keywordScore.put(word, wordDegree.get(word) / (wordFrequency.get(word) * 1.0));
+        };
+        if (!(this.nlp instanceof AnalyzerPool)) {
+            return extract(chunk.partial(sentences, 0, sentences.length));
         }
+        return extract(pool.invoke(new PartialTask(chunk, sentences, 0, sentences.length, PARALLEL_CHUNK_SIZE)));
+    }
 
-        // --------------------------- //
-        // calculate candidates score
-        // --------------------------- //
-        final Map<String, Double> result = new HashMap<String, Double>();
-        for (String candidate : keywordCandidatesList) {
-            if (candidate.length() < MIN_TOKEN_LEN) {
+    /**
+     * Partial Extraction up to a deadline
+     * - sentences are analyzed in order until the deadline passes or the request is done elsewhere,
+     *   the remaining ones are skipped; a sentence already in the analyzer is not interrupted
+     * - each analyzed sentence is added while holding the lock of the partial result, so another thread
+     *   may read it under that lock and answer the request with the sentences analyzed so far
+     *
+     * @param text keyword extraction source text
+     * @param deadline deadline, in {@link System#nanoTime()} time
+     * @param request stops the analysis once done, e.g. completed by a fallback
+     * @param partial partial result the analyzed sentences are added to
+     * @return number of sentences skipped, 0 if the whole text was analyzed
+     */
+    int partial(String text, long deadline, Future<?> request, PartialResult partial) {
+        final String[] sentences = nlp.getSentences(text);
+        final StopwordDictionary dictionary = route(this.dictionary.get(), text);
+        CandidateList keywordCandidatesList = new CandidateList();
+        Cutter cutter = new Cutter(dictionary, keywordCandidatesList);
+        for (int i = 0; i < sentences.length; i++) {
+            if (System.nanoTime() - deadline >= 0 || request.isDone()) {
+                return sentences.length - i;
+            }
+            if (sentences[i].trim().length() == 0) {
                 continue;
             }
+            cutter.cut(analyze(sentences[i]));
+            synchronized (partial) {
+                if (request.isDone()) {
+                    return sentences.length - i;
+                }
+                toPartial(keywordCandidatesList, partial);
+            }
+            keywordCandidatesList.clear();
+        }
+        return 0;
+    }
 
-            final List<String> wordList = tokenize(candidate);
-            double score = 0;
+    /**
+     * Build partial result from keyword candidates, the words of each distinct candidate are added once
+     */
+    private PartialResult toPartial(CandidateList keywordCandidatesList, PartialResult partial) {
+        for (int i = 0; i < keywordCandidatesList.size(); i++) {
+            final String candidate = keywordCandidatesList.phrase(i);
+            if (!partial.increment(candidate)) {
+                partial.add(candidate, keywordCandidatesList.words(i));
+            }
+        }
+        return partial;
+    }
 
-            for (final String word : wordList) {
-                score += keywordScore.get(word);
+    /**
+     * Generate Keyword Candidates
+     *
+     * @param text keyword extraction source text
+     * @return keyword candidates with their words, in order of appearance
+     */
+    private CandidateList candidates(String text) {
+        // read the snapshot once, a concurrent reload must not change it mid-document
+        return candidates(text, route(this.dictionary.get(), text), new CandidateList());
+    }
+
+    /**
+     * Stopword dictionary of the text language, when routing by language
+     *
+     * @param dictionary default (Korean) dictionary snapshot
+     * @param text document or chunk
+     * @return dictionary of the detected language, the default one if it has none
+     */
+    private StopwordDictionary route(StopwordDictionary dictionary, String text) {
+        if (this.languages == null) {
+            return dictionary;
+        }
+        Language language = Language.detect(text);
+        if (language == Language.KOREAN) {
+            return dictionary;
+        }
+        StopwordDictionary routed = this.languages.get(language);
+        return routed == null ? dictionary : routed;
+    }
+
+    private CandidateList candidates(String text, StopwordDictionary dictionary, CandidateList keywordCandidatesList) {
+        // ------------------------------- //
+        // Generate Keyword Candidates
+        // ------------------------------- //
+        List<AnalyzedSentence> sentences = analyzeDocument(text);
+        final long start = this.metrics == null ? 0L : System.nanoTime();
+        final int before = keywordCandidatesList.size();
+        final boolean debug = logger.isDebugEnabled();
+        Cutter cutter = new Cutter(dictionary, keywordCandidatesList);
+        for (AnalyzedSentence sentence : sentences) {
+            if (debug) {
+                logger.debug("compiled sentence : " + compile(sentence));
             }
+            cutter.cut(sentence);
+        }
+        if (this.metrics != null) {
+            this.metrics.time(ExtractionMetrics.Stage.SPLIT, System.nanoTime() - start);
+            this.metrics.count(ExtractionMetrics.Count.CANDIDATES, keywordCandidatesList.size() - before);
+        }
+        return keywordCandidatesList;
+    }
 
-            result.put(candidate, score);
+    /**
+     * Calculate Word Score
+     *
+     * @param keywordCandidatesList keyword candidates with their words
+     * @param corpus corpus statistics, null to score against the candidates themselves
+     * @return scorer holding word scores and candidate word ids
+     */
+    private RakeScorer score(CandidateList keywordCandidatesList, CorpusStatistics corpus) {
+        // ----------------------- //
+        // calculate word score
+        // ----------------------- //
+        final long start = this.metrics == null ? 0L : System.nanoTime();
+        RakeScorer scorer = new RakeScorer();
+        for (int i = 0; i < keywordCandidatesList.size(); i++) {
+            scorer.add(keywordCandidatesList.words(i));
         }
-        return result;
+        if (corpus == null) {
+            scorer.computeScores();
+        } else {
+            scorer.computeScores(corpus);
+        }
+        if (this.metrics != null) {
+            this.metrics.time(ExtractionMetrics.Stage.SCORE, System.nanoTime() - start);
+            this.metrics.count(ExtractionMetrics.Count.UNIQUE_WORDS, scorer.size());
+        }
+        return scorer;
     }
 
     /**
-     * Loading Stopword Dictionary
+     * Candidate Cutter
+     * - cuts analyzed sentences into keyword candidates exactly where the splitter would cut the compiled
+     *   sentence : at stoptag and custom morphs, at '|' and at stopword matches within a morph
+     * - reads morphs and tag ids directly : the sentence is not compiled to text, no regex matches tag names
+     *   back out of it, and the words of a candidate are its morph segments rather than re-tokenized
+     * - entries that may span morphs (regex engine, stopwords holding whitespace) fall back to splitting
+     *   the compiled sentence
      */
-    public void loadStopword() throws IOException {
+    private final class Cutter {
+        private final StopwordDictionary dictionary;
+        private final StopwordSplitter splitter;
+        private final CandidateList candidates;
+        // open candidate, as the compiled sentence holds it
+        private final StringBuilder phrase = new StringBuilder();
+        // no control or whitespace character inside the morphs of the open candidate : words are its segments
+        private boolean plain = true;
+        // fallback split, created on first use
+        private List<String> split = null;
 
-        // ---------------------- //
-        // read stopword file
-        // ---------------------- //
-        BufferedReader reader;
-        reader = new BufferedReader(new FileReader(this.stopwordFile));
-        String line;
-        while ((line = reader.readLine()) != null) {
-            if (line.length() == 0 || line.startsWith("#")) {
-                continue;
+        Cutter(StopwordDictionary dictionary, CandidateList candidates) {
+            this.dictionary = dictionary;
+            this.splitter = dictionary.getSplitter();
+            this.candidates = candidates;
+        }
+
+        void cut(AnalyzedSentence sentence) {
+            if (!this.dictionary.isWordLocal()) {
+                cutCompiled(sentence);
+                return;
+            }
+            for (int m = 0; m < sentence.size(); m++) {
+                final String morph = sentence.getMorph(m);
+                if (stoptagIds.get(sentence.getTagId(m)) || custom.isMorph(morph)) {
+                    close();
+                    continue;
+                }
+                final int length = morph.length();
+                int start = 0;
+                int i = 0;
+                while (i < length) {
+                    final char ch = morph.charAt(i);
+                    if (ch == SEPARATOR) {
+                        segment(morph, start, i);
+                        close();
+                        start = ++i;
+                        continue;
+                    }
+                    int end = this.splitter.match(morph, i, 0, length);
+                    if (end > i) {
+                        segment(morph, start, i);
+                        close();
+                        start = i = end;
+                        continue;
+                    }
+                    if (ch <= ' ') {
+                        this.plain = false;
+                    }
+                    i++;
+                }
+                segment(morph, start, length);
+                this.phrase.append(' ');
             }
-            this.stopwordList.add(line.trim().toLowerCase());
+            close();
         }
-        reader.close();
 
-        // ---------------------- //
-        // build stopword
-        // ---------------------- //
-        if (this.stopwordList.size() == 0) {
-            // default stopword 가 필요하지는 않을까?
-            logger.warn("No Stopwords!");
+        /**
+         * Append morph[from, to) to the open candidate, and as a word
+         */
+        private void segment(String morph, int from, int to) {
+            if (from == to) {
+                return;
+            }
+            this.phrase.append(morph, from, to);
+            String word = morph.substring(from, to).toLowerCase();
+            if (word.length() >= MIN_WORD_LEN && !custom.isToken(word)) {
+                this.candidates.words.add(word);
+            }
         }
 
-        final StringBuilder stopWordPatternBuilder = new StringBuilder();
-        int count = 0;
-        for (final String stopWord : this.stopwordList) {
-            if (count++ != 0) {
-                stopWordPatternBuilder.append("|");
+        /**
+         * Close the open candidate : trimmed and lower-cased as the splitter emits it, dropped if empty
+         */
+        private void close() {
+            int start = 0;
+            int end = this.phrase.length();
+            while (start < end && this.phrase.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && this.phrase.charAt(end - 1) <= ' ') {
+                end--;
             }
-            stopWordPatternBuilder.append("\\b").append(stopWord).append("\\b");
+            if (!this.plain) {
+                // whitespace inside a morph : tokenize the candidate as a whole
+                this.candidates.discard();
+            }
+            if (start < end) {
+                String candidate = this.phrase.substring(start, end).toLowerCase();
+                if (!this.plain) {
+                    tokenize(candidate, this.candidates.words);
+                }
+                this.candidates.add(candidate);
+            }
+            this.phrase.setLength(0);
+            this.plain = true;
         }
-        // build stoptags
-        count = 0;
-        for (String tag : this.stoptag) {
-            if (count++ != 0) {
-                stopWordPatternBuilder.append("|");
+
+        private void cutCompiled(AnalyzedSentence sentence) {
+            if (this.split == null) {
+                this.split = new ArrayList<String>();
+            }
+            this.split.clear();
+            this.splitter.split(compile(sentence), this.split);
+            for (String candidate : this.split) {
+                tokenize(candidate, this.candidates.words);
+                this.candidates.add(candidate);
             }
-            //stopWordPatternBuilder.append(tag);
-            stopWordPatternBuilder.append("\\b").append(tag).append("\\b");
         }
+    }
 
-        // regex compile
-        this.stopwordPattern = Pattern.compile(stopWordPatternBuilder.toString(), Pattern.CASE_INSENSITIVE);
+    /**
+     * Loading Stopword Dictionary
+     */
+    public void loadStopword() throws IOException {
+        final long gen = this.generation.incrementAndGet();
+        // stoptags are split just like stopwords, after them
+        StopwordDictionary loaded = StopwordFiles.load(Collections.singletonList(this.stopwordFile),
+                this.splitterEngine, this.stoptag, gen);
+
+        // ---------------------- //
+        // publish snapshot
+        // ---------------------- //
+        // never replace a newer generation by an older one when loads race
+        StopwordDictionary current;
+        do {
+            current = this.dictionary.get();
+            if (current != null && current.getGeneration() > gen) {
+                logger.info("stopword dictionary generation " + gen + " superseded by " + current.getGeneration());
+                return;
+            }
+        } while (!this.dictionary.compareAndSet(current, loaded));
+        logger.info("stopword dictionary " + loaded);
     }
 
     /**
      * Reload Stopword
+     * - builds a new dictionary and swaps it in, extraction is never paused
      */
     public void reloadStopword() throws IOException {
         logger.info("reloading stopword ....");
-        this.stopwordList.clear();
         loadStopword();
+        if (this.languages != null) {
+            this.languages.clear();
+        }
         logger.info("reloading stopword done");
     }
 }
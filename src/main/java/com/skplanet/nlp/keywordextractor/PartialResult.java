@@ -0,0 +1,290 @@
+package com.skplanet.nlp.keywordextractor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * <br>
+ *     Mergeable Partial Extraction Result
+ * <br>
+ *     Keyword candidates of a chunk of a document (with their occurrence count and words)
+ *     plus the word frequency and degree they contribute. Chunks split at sentence boundaries
+ *     can be processed anywhere, merged in any grouping, and scored into exactly the scores
+ *     the sequential extraction gives for the whole document.
+ *     Partials serialize with {@link #write(DataOutput)} to be combined across machines.
+ *     Not thread-safe.
+ * <br>
+ */
+public final class PartialResult {
+
+    // serialization format
+    private static final int MAGIC = 0x52414b50;
+    // version 1 wrote strings with writeUTF, limited to 65535 bytes
+    private static final int VERSION = 2;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // word statistics, indexed by word id
+    private final WordTable words = new WordTable();
+    private int[] frequency = new int[INITIAL_CAPACITY];
+    private int[] degree = new int[INITIAL_CAPACITY];
+
+    // distinct candidates in order of first appearance
+    private final Map<String, Candidate> candidates = new LinkedHashMap<String, Candidate>();
+
+    /**
+     * Count another occurrence of a candidate already added
+     * @param candidate keyword candidate
+     * @return false if the candidate is new, add it with {@link #add(String, List)} then
+     */
+    public boolean increment(String candidate) {
+        Candidate c = this.candidates.get(candidate);
+        if (c == null) {
+            return false;
+        }
+        c.count++;
+        count(c.words, 1);
+        return true;
+    }
+
+    /**
+     * Add an occurrence of a new candidate
+     * @param candidate keyword candidate
+     * @param wordList words of the candidate
+     */
+    public void add(String candidate, List<String> wordList) {
+        if (increment(candidate)) {
+            return;
+        }
+        int[] ids = new int[wordList.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = id(wordList.get(i));
+        }
+        Candidate c = new Candidate(ids);
+        c.count = 1;
+        this.candidates.put(candidate, c);
+        count(ids, 1);
+    }
+
+    /**
+     * Merge another partial into this one
+     * @param other partial result, left unchanged
+     * @return this partial
+     */
+    public PartialResult merge(PartialResult other) {
+        // word statistics
+        int[] mapping = new int[other.words.size()];
+        for (int i = 0; i < mapping.length; i++) {
+            mapping[i] = id(other.words.word(i));
+            this.frequency[mapping[i]] += other.frequency[i];
+            this.degree[mapping[i]] += other.degree[i];
+        }
+        // candidates
+        for (Map.Entry<String, Candidate> entry : other.candidates.entrySet()) {
+            Candidate c = this.candidates.get(entry.getKey());
+            if (c == null) {
+                int[] ids = new int[entry.getValue().words.length];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = mapping[entry.getValue().words[i]];
+                }
+                c = new Candidate(ids);
+                this.candidates.put(entry.getKey(), c);
+            }
+            c.count += entry.getValue().count;
+        }
+        return this;
+    }
+
+    /**
+     * Score candidates, sum of word scores degree / frequency
+     * @param minLength candidates shorter than this are left out of the result
+     * @return keyword and score pair
+     */
+    public Map<String, Double> scores(int minLength) {
+        return scores(minLength, null);
+    }
+
+    /**
+     * Score candidates against corpus statistics
+     * - words unknown to the corpus keep their score in this partial
+     * @param minLength candidates shorter than this are left out of the result
+     * @param corpus corpus statistics, null to score against this partial only
+     * @return keyword and score pair
+     */
+    public Map<String, Double> scores(int minLength, CorpusStatistics corpus) {
+        double[] score = new double[this.words.size()];
+        for (int id = 0; id < score.length; id++) {
+            score[id] = (this.degree[id] + this.frequency[id]) / (this.frequency[id] * 1.0);
+            if (corpus != null) {
+                double corpusScore = corpus.wordScore(this.words.word(id));
+                if (!Double.isNaN(corpusScore)) {
+                    score[id] = corpusScore;
+                }
+            }
+        }
+        Map<String, Double> result = new HashMap<String, Double>();
+        for (Map.Entry<String, Candidate> entry : this.candidates.entrySet()) {
+            if (entry.getKey().length() < minLength) {
+                continue;
+            }
+            double sum = 0;
+            for (int id : entry.getValue().words) {
+                sum += score[id];
+            }
+            result.put(entry.getKey(), sum);
+        }
+        return result;
+    }
+
+    /**
+     * Number of occurrences of a candidate
+     * @param candidate keyword candidate
+     * @return occurrence count
+     */
+    public int getCount(String candidate) {
+        Candidate c = this.candidates.get(candidate);
+        return c == null ? 0 : c.count;
+    }
+
+    /**
+     * Number of distinct candidates
+     * @return candidate count
+     */
+    public int size() {
+        return this.candidates.size();
+    }
+
+    // ---- word statistics, for corpus accumulation ---- //
+    int words() {
+        return this.words.size();
+    }
+
+    String word(int id) {
+        return this.words.word(id);
+    }
+
+    int frequency(int id) {
+        return this.frequency[id];
+    }
+
+    int degree(int id) {
+        return this.degree[id];
+    }
+
+    /**
+     * Serialize partial result
+     * @param out output
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(this.words.size());
+        for (int i = 0; i < this.words.size(); i++) {
+            writeString(out, this.words.word(i));
+            out.writeInt(this.frequency[i]);
+            out.writeInt(this.degree[i]);
+        }
+        out.writeInt(this.candidates.size());
+        for (Map.Entry<String, Candidate> entry : this.candidates.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue().count);
+            out.writeInt(entry.getValue().words.length);
+            for (int id : entry.getValue().words) {
+                out.writeInt(id);
+            }
+        }
+    }
+
+    /**
+     * Deserialize partial result
+     * @param in input
+     * @return partial result
+     */
+    public static PartialResult read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a partial result");
+        }
+        int version = in.readInt();
+        if (version != 1 && version != VERSION) {
+            throw new IOException("unsupported partial result version : " + version);
+        }
+        PartialResult partial = new PartialResult();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            int id = partial.id(readString(in, version));
+            partial.frequency[id] = in.readInt();
+            partial.degree[id] = in.readInt();
+        }
+        size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            String candidate = readString(in, version);
+            int count = in.readInt();
+            int[] ids = new int[in.readInt()];
+            for (int j = 0; j < ids.length; j++) {
+                ids[j] = in.readInt();
+                if (ids[j] < 0 || ids[j] >= partial.words.size()) {
+                    throw new IOException("word id out of range : " + ids[j]);
+                }
+            }
+            Candidate c = new Candidate(ids);
+            c.count = count;
+            partial.candidates.put(candidate, c);
+        }
+        return partial;
+    }
+
+    /**
+     * Write a string of any length : byte length, then UTF-8 bytes
+     */
+    static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Read a string written by {@link #writeString(DataOutput, String)}, or with writeUTF before version 2
+     */
+    static String readString(DataInput in, int version) throws IOException {
+        if (version < 2) {
+            return in.readUTF();
+        }
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("negative string length : " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void count(int[] ids, int occurrences) {
+        final int wordListDegree = ids.length - 1;
+        for (int id : ids) {
+            this.frequency[id] += occurrences;
+            this.degree[id] += wordListDegree * occurrences;
+        }
+    }
+
+    private int id(String word) {
+        int id = this.words.add(word);
+        if (id == this.frequency.length) {
+            this.frequency = Arrays.copyOf(this.frequency, id * 2);
+            this.degree = Arrays.copyOf(this.degree, id * 2);
+        }
+        return id;
+    }
+
+    private static final class Candidate {
+        // word ids
+        private final int[] words;
+        private int count = 0;
+
+        Candidate(int[] words) {
+            this.words = words;
+        }
+    }
+}
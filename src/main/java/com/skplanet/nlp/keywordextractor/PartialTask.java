@@ -0,0 +1,47 @@
+package com.skplanet.nlp.keywordextractor;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <br>
+ *     Fork/Join task building the partial result of a range of sentences
+ * <br>
+ *     Ranges larger than the threshold are halved, each half processed in parallel and the partials merged.
+ * <br>
+ */
+final class PartialTask extends RecursiveTask<PartialResult> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Builds the partial result of sentences [from, to)
+     */
+    interface Chunk {
+        PartialResult partial(String[] sentences, int from, int to);
+    }
+
+    private final Chunk chunk;
+    private final String[] sentences;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    PartialTask(Chunk chunk, String[] sentences, int from, int to, int threshold) {
+        this.chunk = chunk;
+        this.sentences = sentences;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected PartialResult compute() {
+        if (this.to - this.from <= this.threshold) {
+            return this.chunk.partial(this.sentences, this.from, this.to);
+        }
+        int mid = (this.from + this.to) >>> 1;
+        PartialTask left = new PartialTask(this.chunk, this.sentences, this.from, mid, this.threshold);
+        left.fork();
+        PartialResult right = new PartialTask(this.chunk, this.sentences, mid, this.to, this.threshold).compute();
+        return left.join().merge(right);
+    }
+}
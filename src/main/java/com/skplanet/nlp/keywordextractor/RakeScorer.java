@@ -0,0 +1,146 @@
+package com.skplanet.nlp.keywordextractor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <br>
+ *     RAKE Word Scorer
+ * <br>
+ *     Accumulates word frequency and degree over keyword candidates and scores words as degree / frequency,
+ *     degree including the word itself. Statistics are kept in primitive arrays indexed by {@link WordTable} id,
+ *     so the per-word loop neither boxes nor allocates.
+ *     Each candidate is kept as the word ids computed when it was added, so it is tokenized only once
+ *     for both the statistics and the final phrase score.
+ *     Not thread-safe, use one instance per extraction.
+ * <br>
+ */
+public final class RakeScorer {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    // word ids
+    private final WordTable words = new WordTable();
+    // per word statistics, indexed by word id
+    private int[] frequency = new int[INITIAL_CAPACITY];
+    private int[] degree = new int[INITIAL_CAPACITY];
+    private double[] score = new double[INITIAL_CAPACITY];
+
+    // candidates : word ids of candidate i are candidateWords[candidateOffsets[i], candidateOffsets[i + 1])
+    private int[] candidateWords = new int[INITIAL_CAPACITY * 4];
+    private int[] candidateOffsets = new int[INITIAL_CAPACITY + 1];
+    private int candidates = 0;
+
+    /**
+     * Add a keyword candidate
+     * @param wordList words of the candidate
+     * @return candidate index, in order of addition
+     */
+    public int add(List<String> wordList) {
+        final int wordListDegree = wordList.size() - 1;
+        int offset = this.candidateOffsets[this.candidates];
+        if (offset + wordList.size() > this.candidateWords.length) {
+            this.candidateWords = Arrays.copyOf(this.candidateWords,
+                    Math.max(this.candidateWords.length * 2, offset + wordList.size()));
+        }
+        for (int i = 0; i < wordList.size(); i++) {
+            int id = this.words.add(wordList.get(i));
+            if (id == this.frequency.length) {
+                grow();
+            }
+            this.frequency[id]++;
+            this.degree[id] += wordListDegree;
+            this.candidateWords[offset++] = id;
+        }
+        if (this.candidates + 2 > this.candidateOffsets.length) {
+            this.candidateOffsets = Arrays.copyOf(this.candidateOffsets, this.candidateOffsets.length * 2);
+        }
+        this.candidateOffsets[++this.candidates] = offset;
+        return this.candidates - 1;
+    }
+
+    /**
+     * Count another occurrence of a candidate already added, without tokenizing it again
+     * @param candidate candidate index returned by {@link #add(List)}
+     */
+    public void repeat(int candidate) {
+        final int from = this.candidateOffsets[candidate];
+        final int to = this.candidateOffsets[candidate + 1];
+        final int wordListDegree = to - from - 1;
+        for (int i = from; i < to; i++) {
+            int id = this.candidateWords[i];
+            this.frequency[id]++;
+            this.degree[id] += wordListDegree;
+        }
+    }
+
+    /**
+     * Compute word scores, call once after all candidates are added
+     */
+    public void computeScores() {
+        for (int id = 0; id < this.words.size(); id++) {
+            this.score[id] = (this.degree[id] + this.frequency[id]) / (this.frequency[id] * 1.0);
+        }
+    }
+
+    /**
+     * Compute word scores from corpus statistics, call once after all candidates are added
+     * - words the corpus has never seen are scored from the added candidates
+     * @param corpus corpus statistics
+     */
+    public void computeScores(CorpusStatistics corpus) {
+        computeScores();
+        for (int id = 0; id < this.words.size(); id++) {
+            double corpusScore = corpus.wordScore(this.words.word(id));
+            if (!Double.isNaN(corpusScore)) {
+                this.score[id] = corpusScore;
+            }
+        }
+    }
+
+    /**
+     * Score of a keyword candidate, sum of its word scores
+     * @param candidate candidate index returned by {@link #add(List)}
+     * @return candidate score
+     */
+    public double score(int candidate) {
+        double sum = 0;
+        for (int i = this.candidateOffsets[candidate]; i < this.candidateOffsets[candidate + 1]; i++) {
+            sum += this.score[this.candidateWords[i]];
+        }
+        return sum;
+    }
+
+    /**
+     * Number of candidates
+     * @return candidate count
+     */
+    public int candidates() {
+        return this.candidates;
+    }
+
+    /**
+     * Number of distinct words
+     * @return word count
+     */
+    public int size() {
+        return this.words.size();
+    }
+
+    /**
+     * Reset all statistics, keeping the allocated capacity
+     */
+    public void clear() {
+        Arrays.fill(this.frequency, 0, this.words.size(), 0);
+        Arrays.fill(this.degree, 0, this.words.size(), 0);
+        this.words.clear();
+        this.candidates = 0;
+    }
+
+    private void grow() {
+        int capacity = this.frequency.length * 2;
+        this.frequency = Arrays.copyOf(this.frequency, capacity);
+        this.degree = Arrays.copyOf(this.degree, capacity);
+        this.score = Arrays.copyOf(this.score, capacity);
+    }
+}
@@ -0,0 +1,56 @@
+package com.skplanet.nlp.keywordextractor;
+
+import com.skplanet.nlp.util.AnalyzedSentence;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <br>
+ *     Fork/Join task analyzing a range of sentences in place
+ * <br>
+ *     Ranges larger than the threshold are halved and both halves analyzed in parallel.
+ *     Each result is written to the slot of its source sentence, so sentence order is kept.
+ * <br>
+ */
+final class SentenceTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Analyzes a single sentence
+     */
+    interface Analysis {
+        /**
+         * @return analyzed sentence, null to drop the sentence
+         */
+        AnalyzedSentence analyze(String sentence);
+    }
+
+    private final Analysis analysis;
+    private final String[] sentences;
+    private final AnalyzedSentence[] analyzed;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    SentenceTask(Analysis analysis, String[] sentences, AnalyzedSentence[] analyzed, int from, int to, int threshold) {
+        this.analysis = analysis;
+        this.sentences = sentences;
+        this.analyzed = analyzed;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= this.threshold) {
+            for (int i = this.from; i < this.to; i++) {
+                this.analyzed[i] = this.analysis.analyze(this.sentences[i]);
+            }
+            return;
+        }
+        int mid = (this.from + this.to) >>> 1;
+        invokeAll(new SentenceTask(this.analysis, this.sentences, this.analyzed, this.from, mid, this.threshold),
+                new SentenceTask(this.analysis, this.sentences, this.analyzed, mid, this.to, this.threshold));
+    }
+}
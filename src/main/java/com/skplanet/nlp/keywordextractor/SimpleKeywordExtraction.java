@@ -1,12 +1,21 @@
 package com.skplanet.nlp.keywordextractor;
 
 import com.skplanet.nlp.config.Configuration;
+import com.skplanet.nlp.stopword.CompiledStopwords;
+import com.skplanet.nlp.stopword.LanguageDictionaries;
+import com.skplanet.nlp.stopword.StopwordDictionary;
+import com.skplanet.nlp.stopword.StopwordFiles;
+import com.skplanet.nlp.stopword.StopwordSplitter;
+import com.skplanet.nlp.stopword.StopwordSplitters;
+import com.skplanet.nlp.util.Language;
+import com.skplanet.nlp.util.SentenceReader;
+import com.skplanet.nlp.util.TopK;
 import org.apache.log4j.Logger;
 
 import java.io.*;
 import java.net.URL;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Keyword Extraction based on 'Rapid Automated Keyword Extraction'
@@ -22,14 +31,26 @@ public class SimpleKeywordExtraction implements KeywordExtractionImpl {
     private static final String RAKE_CONFIG = "rake.properties";
     private static final String STOPWORD_FILE = "stopword.kr";
     private static final String MIN_WORD_LEN_PROP = "MIN_WORD_LEN";
+    private static final String STOPWORD_SPLITTER_PROP = "STOPWORD_SPLITTER";
+    private static final String LANGUAGE_ROUTING_PROP = "LANGUAGE_ROUTING";
+    private static final int PARALLEL_CHUNK_SIZE = 16;
+    // default locale lower-cases ASCII as is, not true for the dotted / dotless i languages
+    private static final boolean ASCII_FOLDING = !Arrays.asList("tr", "az", "lt").contains(Locale.getDefault().getLanguage());
+    // streamed text is cut into chunks after one of these, each is a sentence delimiter of sentence()
+    private static final String SENTENCE_TERMINATORS = ".!?,;:";
 
     // properties
     private static int MIN_WORD_LEN = 0;
 
     // members
     protected List<String> stopwordList = new ArrayList<String>();
-    protected Pattern stopwordPattern = null;
+    protected StopwordSplitter stopwordSplitter = null;
+    protected String splitterEngine = null;
     protected File stopwordFile = null;
+    // memory-mapped compiled dictionary, null if the text file is used
+    protected CompiledStopwords compiledStopwords = null;
+    // dictionaries of the other languages, null if documents are not routed by language
+    protected LanguageDictionaries languages = null;
 
 
     /**
@@ -49,13 +70,24 @@ public class SimpleKeywordExtraction implements KeywordExtractionImpl {
         // - minimum length of a word
         String minwordlen = config.readProperty(RAKE_CONFIG, MIN_WORD_LEN_PROP);
         MIN_WORD_LEN = Integer.parseInt(minwordlen);
+        // - stopword splitter engine
+        this.splitterEngine = config.readProperty(RAKE_CONFIG, STOPWORD_SPLITTER_PROP);
+        // - language routing, other languages' dictionaries are loaded on first use
+        String routing = config.readProperty(RAKE_CONFIG, LANGUAGE_ROUTING_PROP);
+        if ("1".equals(routing == null ? null : routing.trim())) {
+            this.languages = LanguageDictionaries.configure(config, this.splitterEngine, Collections.<String>emptyList());
+            logger.info(this.languages);
+        }
 
         // load stopwords
         URL stopwordPath = config.getResource(STOPWORD_FILE);
         this.stopwordFile = new File(stopwordPath.getFile());
         logger.info("loading stopwords ...");
         logger.info("stopword path : " + stopwordPath.getFile());
-        loadStopWords(this.stopwordFile);
+        this.compiledStopwords = StopwordFiles.loadCompiled(this.stopwordFile);
+        if (this.compiledStopwords == null) {
+            loadStopWords(this.stopwordFile);
+        }
         logger.info("done");
 
         // build stopword
@@ -72,37 +104,19 @@ public class SimpleKeywordExtraction implements KeywordExtractionImpl {
      * @param filePath stopword file path
      */
     protected void loadStopWords(File filePath) throws IOException {
-
-        BufferedReader reader;
-
-        reader = new BufferedReader(new FileReader(filePath));
-        String line;
-        while ((line = reader.readLine()) != null) {
-            if (line.length() == 0 || line.startsWith("#")) {
-                continue;
-            }
-            this.stopwordList.add(line.trim().toLowerCase());
-        }
-        reader.close();
+        this.stopwordList.addAll(StopwordFiles.read(filePath));
     }
 
     /**
      * Compile stopwords
      */
     protected void buildStopWordRegex() {
-
-        if (this.stopwordList.size() == 0) {
-            logger.warn("No Stopwords!");
-        }
-        final StringBuilder stopWordPatternBuilder = new StringBuilder();
-        int count = 0;
-        for (final String stopWord : this.stopwordList) {
-            if (count++ != 0) {
-                stopWordPatternBuilder.append("|");
-            }
-            stopWordPatternBuilder.append("\\b").append(stopWord).append("\\b");
+        if (this.compiledStopwords != null) {
+            this.stopwordSplitter = StopwordSplitters.newSplitter(this.splitterEngine, this.compiledStopwords,
+                    Collections.<String>emptyList());
+            return;
         }
-        this.stopwordPattern = Pattern.compile(stopWordPatternBuilder.toString(), Pattern.CASE_INSENSITIVE);
+        this.stopwordSplitter = StopwordSplitters.newSplitter(this.splitterEngine, this.stopwordList);
     }
 
     /**
@@ -115,20 +129,27 @@ public class SimpleKeywordExtraction implements KeywordExtractionImpl {
      */
     public List<String> tokenize(String sentence) {
         final List<String> separateWords = new ArrayList<String>();
-        //final String[] words = text.split("[^가-힣a-zA-Z0-9_\\+\\-/]");
-        // white space tokenizer
-        final String[] words = sentence.split(" ");
-
-        if (words.length > 0) {
-            for (final String word : words) {
-                String wordLowerCase = word.trim().toLowerCase();
-
-                if (wordLowerCase.length() > 0 &&
-                        wordLowerCase.length() > MIN_WORD_LEN &&
-                        !isNumber(wordLowerCase)) {
-                    separateWords.add(wordLowerCase);
-                }
+        // white space tokenizer, on offsets : only kept words are copied
+        final int length = sentence.length();
+        int start = 0;
+        while (start <= length) {
+            int end = sentence.indexOf(' ', start);
+            if (end < 0) {
+                end = length;
+            }
+            // trim
+            int from = start;
+            int to = end;
+            while (from < to && sentence.charAt(from) <= ' ') {
+                from++;
             }
+            while (to > from && sentence.charAt(to - 1) <= ' ') {
+                to--;
+            }
+            if (to > from && to - from > MIN_WORD_LEN && !isNumber(sentence, from, to)) {
+                separateWords.add(toLowerCase(sentence, from, to));
+            }
+            start = end + 1;
         }
         return separateWords;
     }
@@ -140,8 +161,27 @@ public class SimpleKeywordExtraction implements KeywordExtractionImpl {
      * @return list of sentence
      */
     public List<String> sentence(String document) {
-        final String[] sentences = document.split("[.!?,;:\\t\\\\-\\\\\"\\\\(\\\\)\\\\\\'\\u2019\\u2013]");
-        return new ArrayList<String>(Arrays.asList(sentences));
+        final List<String> sentences = new ArrayList<String>();
+        final int length = document.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (isDelimiter(document.charAt(i))) {
+                sentences.add(document.substring(start, i));
+                start = i + 1;
+            }
+        }
+        if (start == 0) {
+            // no delimiter, the document itself
+            sentences.add(document);
+            return sentences;
+        }
+        sentences.add(document.substring(start, length));
+        // trailing empty sentences are dropped, as String.split() did
+        int size = sentences.size();
+        while (size > 0 && sentences.get(size - 1).length() == 0) {
+            sentences.remove(--size);
+        }
+        return sentences;
     }
 
     /**
@@ -151,101 +191,366 @@ public class SimpleKeywordExtraction implements KeywordExtractionImpl {
      * @return keyword and score pair
      */
     public Map<String, Double> extract(String text) {
-        List<String> keywordCandidatesList = new ArrayList<String>();
-        Map<String, Double> keywordScore = new HashMap<String, Double>();
+        return extract(text, (CorpusStatistics) null);
+    }
 
+    /**
+     * Keyword Extraction API, scored against corpus statistics
+     *
+     * @param text keyword extraction source text
+     * @param corpus corpus statistics, null to score against the text itself
+     * @return keyword and score pair
+     */
+    public Map<String, Double> extract(String text, CorpusStatistics corpus) {
+        List<String> keywordCandidatesList = candidates(text);
+        RakeScorer scorer = score(keywordCandidatesList, corpus);
 
-        // ------------------------------- //
-        // Generate Keyword Candidates
-        // ------------------------------- //
-        List<String> sentenceList = sentence(text);
+        // --------------------------- //
+        // calculate candidates score
+        // --------------------------- //
+        final Map<String, Double> result = new HashMap<String, Double>();
+        for (int i = 0; i < keywordCandidatesList.size(); i++) {
+            result.put(keywordCandidatesList.get(i), scorer.score(i));
+        }
+        return result;
+    }
 
-        for (String sentence : sentenceList) {
-            String[] candidates = this.stopwordPattern.matcher(sentence).replaceAll("|").split("\\|");
-            if (candidates.length > 0) {
-                for (final String candidate : candidates) {
-                    String c = candidate.trim().toLowerCase();
-                    if (c.length() > 0) {
-                        keywordCandidatesList.add(c);
-                    }
-                }
-            }
+    /**
+     * Ranked Keyword Extraction API
+     *
+     * @param text keyword extraction source text
+     * @param topK maximum number of keywords, 0 or less for all
+     * @return top keywords by descending score, ties broken by keyword
+     */
+    public LinkedHashMap<String, Double> extract(String text, int topK) {
+        List<String> keywordCandidatesList = candidates(text);
+        RakeScorer scorer = score(keywordCandidatesList, null);
+
+        // --------------------------- //
+        // select top candidates
+        // --------------------------- //
+        TopK top = new TopK(topK <= 0 ? Integer.MAX_VALUE : topK);
+        for (int i = 0; i < keywordCandidatesList.size(); i++) {
+            final String candidate = keywordCandidatesList.get(i);
+            top.offer(candidate, scorer.score(i));
         }
+        return top.result();
+    }
 
+    /**
+     * Bulk Keyword Extraction API
+     *
+     * @param texts keyword extraction source texts
+     * @param topK maximum number of keywords per text, 0 or less for all
+     * @return result of each text, in order
+     */
+    public List<KeywordResult> extractBatch(List<String> texts, int topK) {
+        ExtractionScratch scratch = new ExtractionScratch();
+        List<KeywordResult> results = new ArrayList<KeywordResult>(texts.size());
+        for (String text : texts) {
+            results.add(extract(text, topK, scratch));
+        }
+        return results;
+    }
 
-        // ----------------------- //
-        // calculate word score
-        // ----------------------- //
-        Map<String, Integer> wordFrequency = new HashMap<String, Integer>();
-        Map<String, Integer> wordDegree = new HashMap<String, Integer>();
+    /**
+     * Bulk Keyword Extraction API, lazy
+     *
+     * @param texts keyword extraction source texts
+     * @param topK maximum number of keywords per text, 0 or less for all
+     * @return result of each text, in order
+     */
+    public Iterator<KeywordResult> extractBatch(final Iterator<String> texts, final int topK) {
+        final ExtractionScratch scratch = new ExtractionScratch();
+        return new Iterator<KeywordResult>() {
+            public boolean hasNext() {
+                return texts.hasNext();
+            }
 
-        for (String candidate : keywordCandidatesList) {
+            public KeywordResult next() {
+                return extract(texts.next(), topK, scratch);
+            }
 
-            List<String> wordList = tokenize(candidate);
-            int wordListDegree = wordList.size() - 1;
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
 
-            for (final String word : wordList) {
+    /**
+     * Ranked extraction on reused buffers, each distinct candidate is tokenized once
+     */
+    private KeywordResult extract(String text, int topK, ExtractionScratch scratch) {
+        scratch.clear();
+        candidates(text, scratch.candidates);
+        for (String candidate : scratch.candidates) {
+            if (!scratch.increment(candidate)) {
+                scratch.add(candidate, tokenize(candidate));
+            }
+        }
+        return scratch.select(topK, 0);
+    }
 
-                if (!wordFrequency.containsKey(word)) {
-                    wordFrequency.put(word, 0);
-                }
+    /**
+     * Add text to corpus statistics
+     *
+     * @param text document text
+     * @param corpus corpus statistics to update
+     */
+    public void accumulate(String text, CorpusStatistics corpus) {
+        List<String> keywordCandidatesList = candidates(text);
+        List<List<String>> tokenized = new ArrayList<List<String>>(keywordCandidatesList.size());
+        for (String candidate : keywordCandidatesList) {
+            tokenized.add(tokenize(candidate));
+        }
+        corpus.add(tokenized);
+    }
 
-                if (!wordDegree.containsKey(word)) {
-                    wordDegree.put(word, 0);
-                }
+    /**
+     * Partial Extraction API
+     *
+     * @param text chunk of a document, split at a sentence boundary
+     * @return mergeable partial result
+     */
+    public PartialResult partial(String text) {
+        return toPartial(candidates(text), new PartialResult());
+    }
 
-                wordFrequency.put(word, wordFrequency.get(word) + 1);
-                wordDegree.put(word, wordDegree.get(word) + wordListDegree);
-            }
+    /**
+     * Keyword Extraction API, from merged partial results
+     *
+     * @param partial partial results of every chunk of a document, merged
+     * @return keyword and score pair
+     */
+    public Map<String, Double> extract(PartialResult partial) {
+        return partial.scores(0);
+    }
+
+    /**
+     * Streaming Partial Extraction API
+     *
+     * @param reader document text, not closed
+     * @return partial result of the whole document
+     */
+    public PartialResult partial(Reader reader) throws IOException {
+        SentenceReader sentences = new SentenceReader(reader, SentenceReader.DEFAULT_CAPACITY, SENTENCE_TERMINATORS);
+        PartialResult partial = new PartialResult();
+        String chunk;
+        while ((chunk = sentences.next()) != null) {
+            toPartial(candidates(chunk), partial);
         }
+        return partial;
+    }
 
-        for (String word : wordFrequency.keySet()) {
-            wordDegree.put(word, wordDegree.get(word) + wordFrequency.get(word));
+    /**
+     * Streaming Keyword Extraction API
+     *
+     * @param reader document text, not closed
+     * @return keyword and score pair
+     */
+    public Map<String, Double> extract(Reader reader) throws IOException {
+        return extract(reader, null);
+    }
+
+    /**
+     * Streaming Keyword Extraction API, scored against corpus statistics
+     *
+     * @param reader document text, not closed
+     * @param corpus corpus statistics, null to score against the text itself
+     * @return keyword and score pair
+     */
+    public Map<String, Double> extract(Reader reader, CorpusStatistics corpus) throws IOException {
+        return partial(reader).scores(0, corpus);
+    }
 
-            if (!keywordScore.containsKey(word)) {
-                keywordScore.put(word, 0.0);
+    /**
+     * Parallel Keyword Extraction API
+     *
+     * @param text keyword extraction source text
+     * @param pool fork/join pool to run on
+     * @return keyword and score pair
+     */
+    public Map<String, Double> extract(String text, ForkJoinPool pool) {
+        List<String> sentenceList = sentence(text);
+        final String[] sentences = sentenceList.toArray(new String[sentenceList.size()]);
+        final StopwordSplitter splitter = splitter(text);
+        PartialTask.Chunk chunk = new PartialTask.Chunk() {
+            public PartialResult partial(String[] sentences, int from, int to) {
+                List<String> keywordCandidatesList = new ArrayList<String>();
+                for (int i = from; i < to; i++) {
+                    splitter.split(sentences[i], keywordCandidatesList);
+                }
+                return toPartial(keywordCandidatesList, new PartialResult());
             }
-            keywordScore.put(word, wordDegree.get(word) / (wordFrequency.get(word) * 1.0));
-        }
+        };
+        return extract(pool.invoke(new PartialTask(chunk, sentences, 0, sentences.length, PARALLEL_CHUNK_SIZE)));
+    }
 
-        // --------------------------- //
-        // calculate candidates score
-        // --------------------------- //
-        final Map<String, Double> result = new HashMap<String, Double>();
+    /**
+     * Build partial result from keyword candidates, each distinct candidate is tokenized once
+     */
+    protected PartialResult toPartial(List<String> keywordCandidatesList, PartialResult partial) {
         for (String candidate : keywordCandidatesList) {
+            if (!partial.increment(candidate)) {
+                partial.add(candidate, tokenize(candidate));
+            }
+        }
+        return partial;
+    }
 
-            final List<String> wordList = tokenize(candidate);
-            double score = 0;
+    /**
+     * Generate Keyword Candidates
+     *
+     * @param text keyword extraction source text
+     * @return keyword candidates, in order of appearance
+     */
+    protected List<String> candidates(String text) {
+        return candidates(text, new ArrayList<String>());
+    }
 
-            for (final String word : wordList) {
-                score += keywordScore.get(word);
+    /**
+     * Generate Keyword Candidates
+     *
+     * @param text keyword extraction source text
+     * @param keywordCandidatesList list the candidates are added to, in order of appearance
+     * @return the given list
+     */
+    protected List<String> candidates(String text, List<String> keywordCandidatesList) {
+        // ------------------------------- //
+        // Generate Keyword Candidates
+        // ------------------------------- //
+        // sentences are split in place, as offsets into the text
+        final StopwordSplitter splitter = splitter(text);
+        final int length = text.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (isDelimiter(text.charAt(i))) {
+                splitter.split(text, start, i, keywordCandidatesList);
+                start = i + 1;
             }
+        }
+        splitter.split(text, start, length, keywordCandidatesList);
+        return keywordCandidatesList;
+    }
 
-            result.put(candidate, score);
+    /**
+     * Stopword splitter of the text language, when routing by language
+     *
+     * @param text document or chunk
+     * @return splitter of the detected language, the default (Korean) one if it has no dictionary
+     */
+    protected StopwordSplitter splitter(String text) {
+        if (this.languages == null) {
+            return this.stopwordSplitter;
         }
-        return result;
+        Language language = Language.detect(text);
+        if (language == Language.KOREAN) {
+            return this.stopwordSplitter;
+        }
+        StopwordDictionary dictionary = this.languages.get(language);
+        return dictionary == null ? this.stopwordSplitter : dictionary.getSplitter();
+    }
+
+    /**
+     * Calculate Word Score
+     *
+     * @param keywordCandidatesList keyword candidates
+     * @param corpus corpus statistics, null to score against the candidates themselves
+     * @return scorer holding word scores and candidate word ids
+     */
+    protected RakeScorer score(List<String> keywordCandidatesList, CorpusStatistics corpus) {
+        // ----------------------- //
+        // calculate word score
+        // ----------------------- //
+        // each candidate is tokenized once, the scorer keeps its word ids
+        RakeScorer scorer = new RakeScorer();
+        for (String candidate : keywordCandidatesList) {
+            scorer.add(tokenize(candidate));
+        }
+        if (corpus == null) {
+            scorer.computeScores();
+        } else {
+            scorer.computeScores(corpus);
+        }
+        return scorer;
     }
 
     /**
      * Loading Stopword Dictionary
      */
     public void loadStopword() throws IOException {
+        this.stopwordList.addAll(StopwordFiles.read(this.stopwordFile));
+    }
 
-        BufferedReader reader;
+    /**
+     * Sentence delimiter : . ! ? , ; : tab \ " ( ) ' \u2019 \u2013
+     */
+    private static boolean isDelimiter(char ch) {
+        switch (ch) {
+            case '.':
+            case '!':
+            case '?':
+            case ',':
+            case ';':
+            case ':':
+            case '\t':
+            case '\\':
+            case '"':
+            case '(':
+            case ')':
+            case '\'':
+            case '\u2019':
+            case '\u2013':
+                return true;
+            default:
+                return false;
+        }
+    }
 
-        reader = new BufferedReader(new FileReader(this.stopwordFile));
-        String line;
-        while ((line = reader.readLine()) != null) {
-            if (line.length() == 0 || line.startsWith("#")) {
-                continue;
+    /**
+     * Numeric token : digits and decimal points only, at least one digit
+     */
+    private static boolean isNumber(String str, int from, int to) {
+        boolean digit = false;
+        for (int i = from; i < to; i++) {
+            char ch = str.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                digit = true;
+            } else if (ch != '.') {
+                return false;
             }
-            this.stopwordList.add(line.trim().toLowerCase());
         }
-        reader.close();
+        return digit;
     }
 
-    private boolean isNumber(final String str) {
-        return str.matches("[0-9.]");
+    /**
+     * Lower-cased copy of str[from, to), same as {@code str.substring(from, to).toLowerCase()}
+     * - ASCII is folded in place and Hangul has no case, any other cased character falls back to String.toLowerCase()
+     */
+    private static String toLowerCase(String str, int from, int to) {
+        boolean upper = false;
+        for (int i = from; i < to; i++) {
+            char ch = str.charAt(i);
+            if (ch < 0x80) {
+                upper |= ch >= 'A' && ch <= 'Z';
+            } else if (!Language.isHangul(ch) && (Character.isSurrogate(ch) || Character.toLowerCase(ch) != ch)) {
+                return str.substring(from, to).toLowerCase();
+            }
+        }
+        if (!upper) {
+            return str.substring(from, to);
+        }
+        if (!ASCII_FOLDING) {
+            return str.substring(from, to).toLowerCase();
+        }
+        char[] chars = new char[to - from];
+        str.getChars(from, to, chars, 0);
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] += 'a' - 'A';
+            }
+        }
+        return new String(chars);
     }
 
 }
@@ -0,0 +1,136 @@
+package com.skplanet.nlp.keywordextractor;
+
+import java.util.Arrays;
+
+/**
+ * <br>
+ *     Word Id Table
+ * <br>
+ *     Open addressing (linear probing) map from word to a dense integer id, ids are assigned 0, 1, 2, ...
+ *     in first-seen order. Lookups neither box nor allocate, so per-word statistics can live in primitive arrays.
+ *     Clearing only visits the slots in use, so a table grown by one large document stays cheap to reuse.
+ *     Not thread-safe.
+ * <br>
+ */
+public final class WordTable {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // hash slots : word and its id
+    private String[] keys;
+    private int[] slots;
+    // words and their hash slot, by id
+    private String[] words;
+    private int[] wordSlots;
+    private int size = 0;
+
+    public WordTable() {
+        this.keys = new String[INITIAL_CAPACITY];
+        this.slots = new int[INITIAL_CAPACITY];
+        this.words = new String[INITIAL_CAPACITY / 2];
+        this.wordSlots = new int[INITIAL_CAPACITY / 2];
+    }
+
+    /**
+     * Get id of the word, adding it if absent
+     * @param word word
+     * @return word id
+     */
+    public int add(String word) {
+        int mask = this.keys.length - 1;
+        int slot = mix(word.hashCode()) & mask;
+        String key;
+        while ((key = this.keys[slot]) != null) {
+            if (key.equals(word)) {
+                return this.slots[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        int id = this.size++;
+        this.keys[slot] = word;
+        this.slots[slot] = id;
+        if (id == this.words.length) {
+            this.words = Arrays.copyOf(this.words, id * 2);
+            this.wordSlots = Arrays.copyOf(this.wordSlots, id * 2);
+        }
+        this.words[id] = word;
+        this.wordSlots[id] = slot;
+        // keep load factor at most 1/2
+        if (this.size * 2 > this.keys.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Get id of the word
+     * @param word word
+     * @return word id, -1 if absent
+     */
+    public int get(String word) {
+        int mask = this.keys.length - 1;
+        int slot = mix(word.hashCode()) & mask;
+        String key;
+        while ((key = this.keys[slot]) != null) {
+            if (key.equals(word)) {
+                return this.slots[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Get word by id
+     * @param id word id
+     * @return word
+     */
+    public String word(int id) {
+        return this.words[id];
+    }
+
+    /**
+     * Number of words
+     * @return word count
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Remove all words, keeping the allocated capacity
+     */
+    public void clear() {
+        for (int id = 0; id < this.size; id++) {
+            this.keys[this.wordSlots[id]] = null;
+            this.words[id] = null;
+        }
+        this.size = 0;
+    }
+
+    private void rehash() {
+        String[] oldKeys = this.keys;
+        int[] oldSlots = this.slots;
+        this.keys = new String[oldKeys.length * 2];
+        this.slots = new int[oldKeys.length * 2];
+        int mask = this.keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            int slot = mix(oldKeys[i].hashCode()) & mask;
+            while (this.keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            this.keys[slot] = oldKeys[i];
+            this.slots[slot] = oldSlots[i];
+            this.wordSlots[oldSlots[i]] = slot;
+        }
+    }
+
+    // spread low-entropy string hashes over the table
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,192 @@
+package com.skplanet.nlp.metrics;
+
+import org.apache.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ *     Keyword Extraction Metrics
+ * <br>
+ *     Per stage latency histograms and per document size histograms, shared by every thread of an extractor.
+ *     Published as an MXBean and optionally logged periodically on a daemon thread.
+ *     Extractors hold no instance at all when metrics are disabled, so the disabled cost is a null check.
+ * <br>
+ */
+public final class ExtractionMetrics implements ExtractionMetricsMXBean {
+    private static Logger logger = Logger.getLogger(ExtractionMetrics.class.getName());
+
+    private static final String DOMAIN = "com.skplanet.nlp";
+
+    /**
+     * Timed stages
+     */
+    public enum Stage {
+        // sentence segmentation
+        SEGMENT,
+        // morphological analysis, per sentence
+        ANALYZE,
+        // stopword splitting, per document
+        SPLIT,
+        // word and candidate scoring, per document
+        SCORE,
+        // top keyword selection, per document
+        SELECT,
+        // whole extraction, per document
+        EXTRACT
+    }
+
+    /**
+     * Per document sizes
+     */
+    public enum Count {
+        SENTENCES,
+        CANDIDATES,
+        UNIQUE_WORDS
+    }
+
+    private final String name;
+    private final Histogram[] stages;
+    private final Histogram[] counts;
+
+    private ObjectName objectName = null;
+    private ScheduledExecutorService reporter = null;
+
+    /**
+     * Constructor
+     * @param name metrics name, used for the JMX object name and the log summary
+     */
+    public ExtractionMetrics(String name) {
+        this.name = name;
+        this.stages = new Histogram[Stage.values().length];
+        for (Stage stage : Stage.values()) {
+            this.stages[stage.ordinal()] = new Histogram(stage.name().toLowerCase());
+        }
+        this.counts = new Histogram[Count.values().length];
+        for (Count count : Count.values()) {
+            this.counts[count.ordinal()] = new Histogram(count.name().toLowerCase());
+        }
+    }
+
+    /**
+     * Record stage latency
+     * @param stage stage
+     * @param nanos elapsed time, in nanoseconds
+     */
+    public void time(Stage stage, long nanos) {
+        this.stages[stage.ordinal()].record(nanos);
+    }
+
+    /**
+     * Record a per document size
+     * @param count counted item
+     * @param value size
+     */
+    public void count(Count count, long value) {
+        this.counts[count.ordinal()].record(value);
+    }
+
+    public List<HistogramSnapshot> getStages() {
+        List<HistogramSnapshot> snapshots = new ArrayList<HistogramSnapshot>(this.stages.length);
+        for (Histogram histogram : this.stages) {
+            snapshots.add(histogram.snapshot(1000));
+        }
+        return snapshots;
+    }
+
+    public List<HistogramSnapshot> getCounts() {
+        List<HistogramSnapshot> snapshots = new ArrayList<HistogramSnapshot>(this.counts.length);
+        for (Histogram histogram : this.counts) {
+            snapshots.add(histogram.snapshot(1));
+        }
+        return snapshots;
+    }
+
+    public void reset() {
+        for (Histogram histogram : this.stages) {
+            histogram.reset();
+        }
+        for (Histogram histogram : this.counts) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Register to the platform MBean server, failures are logged only
+     */
+    public synchronized void register() {
+        if (this.objectName != null) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName candidate = new ObjectName(DOMAIN + ":type=ExtractionMetrics,name=" + ObjectName.quote(this.name));
+            server.registerMBean(this, candidate);
+            this.objectName = candidate;
+            logger.info("metrics registered : " + candidate);
+        } catch (JMException e) {
+            logger.warn("failed to register metrics : " + this.name, e);
+        }
+    }
+
+    /**
+     * Log a summary periodically
+     * @param interval logging interval in seconds
+     */
+    public synchronized void startReporting(long interval) {
+        if (this.reporter != null) {
+            return;
+        }
+        this.reporter = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "metrics-reporter");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.reporter.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                logger.info(ExtractionMetrics.this.toString());
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop reporting and unregister from the MBean server
+     */
+    public synchronized void close() {
+        if (this.reporter != null) {
+            this.reporter.shutdownNow();
+            this.reporter = null;
+        }
+        if (this.objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+            } catch (JMException e) {
+                logger.warn("failed to unregister metrics : " + this.objectName, e);
+            }
+            this.objectName = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("metrics ").append(this.name).append(" (us)");
+        for (HistogramSnapshot snapshot : getStages()) {
+            sb.append("\n  ").append(snapshot);
+        }
+        for (HistogramSnapshot snapshot : getCounts()) {
+            sb.append("\n  ").append(snapshot);
+        }
+        return sb.toString();
+    }
+}
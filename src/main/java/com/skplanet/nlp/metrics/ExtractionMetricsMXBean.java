@@ -0,0 +1,28 @@
+package com.skplanet.nlp.metrics;
+
+import java.util.List;
+
+/**
+ * <br>
+ *     JMX view of {@link ExtractionMetrics}
+ * <br>
+ */
+public interface ExtractionMetricsMXBean {
+
+    /**
+     * Per stage latency, in microseconds
+     * @return one snapshot per stage
+     */
+    List<HistogramSnapshot> getStages();
+
+    /**
+     * Per document sizes : sentences, candidates, unique words
+     * @return one snapshot per count
+     */
+    List<HistogramSnapshot> getCounts();
+
+    /**
+     * Clear every histogram
+     */
+    void reset();
+}
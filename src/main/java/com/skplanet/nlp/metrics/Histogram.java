@@ -0,0 +1,108 @@
+package com.skplanet.nlp.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <br>
+ *     Lock-free Log2 Histogram
+ * <br>
+ *     Records non-negative values into power of two buckets, so recording is a few atomic adds
+ *     and percentiles are accurate within a factor of two. Safe for concurrent use.
+ * <br>
+ */
+public final class Histogram {
+
+    // bucket b holds values in [2^(b-1), 2^b - 1], bucket 0 holds 0
+    private static final int BUCKETS = 65;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public Histogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Record a value
+     * @param value value, negative values are recorded as 0
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        this.buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(value));
+        this.count.increment();
+        this.sum.add(value);
+        long current;
+        while (value > (current = this.max.get())) {
+            if (this.max.compareAndSet(current, value)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Current statistics
+     * @param scale divisor applied to every value, e.g. 1000 for nanoseconds to microseconds
+     * @return snapshot, values recorded meanwhile may be partially included
+     */
+    public HistogramSnapshot snapshot(long scale) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            counts[b] = this.buckets.get(b);
+            total += counts[b];
+        }
+        long maximum = this.max.get();
+        double mean = total == 0 ? 0.0 : this.sum.sum() / (double) total / scale;
+        return new HistogramSnapshot(this.name, total, mean,
+                percentile(counts, total, 0.5, maximum) / scale,
+                percentile(counts, total, 0.9, maximum) / scale,
+                percentile(counts, total, 0.99, maximum) / scale,
+                maximum / scale);
+    }
+
+    /**
+     * Clear every recorded value
+     */
+    public void reset() {
+        for (int b = 0; b < BUCKETS; b++) {
+            this.buckets.set(b, 0);
+        }
+        this.count.reset();
+        this.sum.reset();
+        this.max.set(0);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Upper bound of the bucket holding the q-th quantile, capped by the maximum
+     */
+    private static long percentile(long[] counts, long total, double q, long maximum) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(q * total);
+        long cumulative = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            cumulative += counts[b];
+            if (cumulative >= target) {
+                long upper = b == 0 ? 0 : (b == 64 ? Long.MAX_VALUE : (1L << b) - 1);
+                return Math.min(upper, maximum);
+            }
+        }
+        return maximum;
+    }
+}
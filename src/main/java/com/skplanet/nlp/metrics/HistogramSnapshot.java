@@ -0,0 +1,64 @@
+package com.skplanet.nlp.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * <br>
+ *     Immutable Histogram Statistics, exposed over JMX as composite data
+ * <br>
+ */
+public final class HistogramSnapshot {
+
+    private final String name;
+    private final long count;
+    private final double mean;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long max;
+
+    @ConstructorProperties({"name", "count", "mean", "p50", "p90", "p99", "max"})
+    public HistogramSnapshot(String name, long count, double mean, long p50, long p90, long p99, long max) {
+        this.name = name;
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public double getMean() {
+        return this.mean;
+    }
+
+    public long getP50() {
+        return this.p50;
+    }
+
+    public long getP90() {
+        return this.p90;
+    }
+
+    public long getP99() {
+        return this.p99;
+    }
+
+    public long getMax() {
+        return this.max;
+    }
+
+    @Override
+    public String toString() {
+        return this.name + " n=" + this.count + " mean=" + String.format("%.1f", this.mean)
+                + " p50=" + this.p50 + " p90=" + this.p90 + " p99=" + this.p99 + " max=" + this.max;
+    }
+}
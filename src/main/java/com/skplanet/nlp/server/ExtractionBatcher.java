@@ -0,0 +1,270 @@
+package com.skplanet.nlp.server;
+
+import com.skplanet.nlp.keywordextractor.KeywordExtractionImpl;
+import com.skplanet.nlp.keywordextractor.KeywordResult;
+import org.apache.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <br>
+ *     Micro-batching Extraction Queue
+ * <br>
+ *     Requests from any number of client threads are queued in a bounded queue.
+ *     Each worker takes its share of what is waiting (the queue split over the workers, up to the batch size,
+ *     lingering a moment for more while below it) and runs it as one batch : the distinct texts of each top-K
+ *     go to the extractor in one {@link KeywordExtractionImpl#extractBatch(List, int)} call, sharing its
+ *     scratch buffers, and identical requests are extracted once. Sharing the backlog keeps every worker busy.
+ *     Requests cancelled while waiting (e.g. timed out by the caller) are skipped.
+ *     A full queue rejects the request instead of growing.
+ * <br>
+ */
+public final class ExtractionBatcher {
+    private static final Logger LOGGER = Logger.getLogger(ExtractionBatcher.class.getName());
+
+    private final String name;
+    private final KeywordExtractionImpl extractor;
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final BlockingQueue<Request> queue;
+    private final int workerCount;
+    private final List<Thread> workers = new ArrayList<Thread>();
+    private volatile boolean running = true;
+
+    // statistics
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong extractions = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final long startTime = System.nanoTime();
+
+    /**
+     * Constructor, starts the workers
+     * @param name extractor name, for logging and statistics
+     * @param extractor thread-safe keyword extractor
+     * @param workers number of batch workers
+     * @param maxBatch maximum number of requests per batch
+     * @param lingerMillis time a worker waits for more requests after the first one, 0 not to wait
+     * @param queueSize maximum number of waiting requests
+     */
+    public ExtractionBatcher(String name, KeywordExtractionImpl extractor, int workers, int maxBatch,
+                             long lingerMillis, int queueSize) {
+        this.name = name;
+        this.extractor = extractor;
+        this.maxBatch = maxBatch;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.queue = new ArrayBlockingQueue<Request>(queueSize);
+        this.workerCount = workers;
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    work();
+                }
+            }, "batcher-" + name + "-" + i);
+            thread.setDaemon(true);
+            this.workers.add(thread);
+            thread.start();
+        }
+    }
+
+    /**
+     * Submit an extraction request
+     * @param text source text
+     * @param topK maximum number of keywords, 0 or less for all
+     * @return ranked keywords, by descending score; cancel it to drop the request if still waiting
+     * @throws RejectedExecutionException if the queue is full or the batcher is closed
+     */
+    public Future<LinkedHashMap<String, Double>> submit(String text, int topK) {
+        Request request = new Request(text, topK <= 0 ? Integer.MAX_VALUE : topK);
+        this.requests.incrementAndGet();
+        if (!this.running || !this.queue.offer(request)) {
+            this.rejected.incrementAndGet();
+            throw new RejectedExecutionException(this.name + " queue is full");
+        }
+        return request.result;
+    }
+
+    /**
+     * Stop the workers, waiting requests fail
+     */
+    public void close() {
+        this.running = false;
+        for (Thread thread : this.workers) {
+            thread.interrupt();
+        }
+        Request request;
+        while ((request = this.queue.poll()) != null) {
+            request.result.completeExceptionally(new RejectedExecutionException(this.name + " is closed"));
+        }
+    }
+
+    public int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Throughput of completed requests since start
+     * @return requests per second
+     */
+    public double getRequestsPerSecond() {
+        long elapsed = Math.max((System.nanoTime() - this.startTime) / 1000000L, 1L);
+        return this.completed.get() * 1000.0 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        long batchCount = this.batches.get();
+        long completedCount = this.completed.get();
+        return this.name + " : queue " + getQueueDepth()
+                + ", requests " + this.requests.get()
+                + ", completed " + completedCount
+                + ", failed " + this.failed.get()
+                + ", cancelled " + this.cancelled.get()
+                + ", rejected " + this.rejected.get()
+                + ", batches " + batchCount
+                + ", mean batch " + String.format("%.2f", batchCount == 0 ? 0.0 : (completedCount + this.failed.get()) / (double) batchCount)
+                + ", extractions " + this.extractions.get()
+                + ", " + String.format("%.1f", getRequestsPerSecond()) + " req/s";
+    }
+
+    // ---- worker ---- //
+
+    private void work() {
+        List<Request> batch = new ArrayList<Request>(this.maxBatch);
+        while (this.running) {
+            try {
+                batch.add(this.queue.take());
+                this.queue.drainTo(batch, share() - batch.size());
+                // linger for requests arriving right behind
+                long deadline = System.nanoTime() + this.lingerNanos;
+                while (batch.size() < share()) {
+                    long wait = deadline - System.nanoTime();
+                    Request next = wait > 0 ? this.queue.poll(wait, TimeUnit.NANOSECONDS) : this.queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    this.queue.drainTo(batch, share() - batch.size());
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                for (Request request : batch) {
+                    request.result.completeExceptionally(new RejectedExecutionException(this.name + " is closed"));
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Batch size of a worker : an even split of the waiting requests over the workers, the others take the rest
+     */
+    private int share() {
+        return Math.min(this.maxBatch, this.queue.size() / this.workerCount + 1);
+    }
+
+    /**
+     * Extract the distinct texts of the batch in one bulk call per top-K, each text once
+     */
+    private void process(List<Request> batch) {
+        this.batches.incrementAndGet();
+        // waiting requests by top-K, then by text
+        Map<Integer, Map<String, List<Request>>> groups = new HashMap<Integer, Map<String, List<Request>>>();
+        for (Request request : batch) {
+            if (request.result.isDone()) {
+                // cancelled by the caller while waiting
+                this.cancelled.incrementAndGet();
+                continue;
+            }
+            Map<String, List<Request>> texts = groups.get(request.topK);
+            if (texts == null) {
+                texts = new LinkedHashMap<String, List<Request>>();
+                groups.put(request.topK, texts);
+            }
+            List<Request> same = texts.get(request.text);
+            if (same == null) {
+                same = new ArrayList<Request>(1);
+                texts.put(request.text, same);
+            }
+            same.add(request);
+        }
+        for (Map.Entry<Integer, Map<String, List<Request>>> group : groups.entrySet()) {
+            extract(group.getKey(), group.getValue());
+        }
+    }
+
+    /**
+     * Bulk extraction of distinct texts, a failing batch is retried text by text so only the failing text fails
+     */
+    private void extract(int topK, Map<String, List<Request>> texts) {
+        List<KeywordResult> results;
+        try {
+            results = this.extractor.extractBatch(new ArrayList<String>(texts.keySet()), topK);
+        } catch (RuntimeException e) {
+            LOGGER.warn(this.name + " batch of " + texts.size() + " failed, extracting one by one", e);
+            results = null;
+        }
+        int i = 0;
+        for (Map.Entry<String, List<Request>> text : texts.entrySet()) {
+            KeywordResult result = results == null ? null : results.get(i++);
+            try {
+                if (result == null) {
+                    result = this.extractor.extractBatch(Collections.singletonList(text.getKey()), topK).get(0);
+                }
+                this.extractions.incrementAndGet();
+                for (Request request : text.getValue()) {
+                    // each caller gets its own map
+                    request.result.complete(result.toMap());
+                    this.completed.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error(this.name + " failed to extract", e);
+                for (Request request : text.getValue()) {
+                    request.result.completeExceptionally(e);
+                    this.failed.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Extraction request, equal to another one with the same text and top-K
+     */
+    private static final class Request {
+        private final String text;
+        private final int topK;
+        private final CompletableFuture<LinkedHashMap<String, Double>> result =
+                new CompletableFuture<LinkedHashMap<String, Double>>();
+
+        Request(String text, int topK) {
+            this.text = text;
+            this.topK = topK;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Request)) {
+                return false;
+            }
+            Request other = (Request) o;
+            return this.topK == other.topK && this.text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.text.hashCode() + this.topK;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.skplanet.nlp.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * <br>
+ *     Resident Keyword Extraction Server
+ * <br>
+ *     Plain HTTP on the JDK built-in server. Extractors are initialized once and shared,
+ *     requests are micro-batched per extractor by {@link ExtractionBatcher}.
+ * <br>
+ *     POST /extract?extractor=nlp|simple&amp;topK=N : UTF-8 text body,
+ *     responds "keyword \t score" lines by descending score (all keywords when topK is missing or 0)
+ * <br>
+ *     GET /stats : throughput, queue depth and batching statistics of every extractor
+ * <br>
+ */
+public final class KeywordServer {
+    private static final Logger LOGGER = Logger.getLogger(KeywordServer.class.getName());
+
+    // extractor names
+    public static final String NLP = "nlp";
+    public static final String SIMPLE = "simple";
+
+    // largest accepted request body, in bytes
+    private static final int MAX_BODY = 16 * 1024 * 1024;
+    // time a request waits for its result, in seconds
+    private static final long REQUEST_TIMEOUT = 60;
+
+    private final HttpServer server;
+    private final Map<String, ExtractionBatcher> batchers;
+    private final String defaultExtractor;
+    private final ExecutorService handlers;
+
+    /**
+     * Constructor
+     * @param port listening port
+     * @param batchers batcher of each extractor, by name
+     * @param defaultExtractor extractor used when the request does not name one
+     * @param handlerThreads number of HTTP handler threads
+     */
+    public KeywordServer(int port, Map<String, ExtractionBatcher> batchers, String defaultExtractor, int handlerThreads)
+            throws IOException {
+        this.batchers = batchers;
+        this.defaultExtractor = defaultExtractor;
+        this.handlers = Executors.newFixedThreadPool(handlerThreads);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.setExecutor(this.handlers);
+        this.server.createContext("/extract", new HttpHandler() {
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    extract(exchange);
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+        this.server.createContext("/stats", new HttpHandler() {
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    respond(exchange, 200, stats());
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+    }
+
+    public void start() {
+        this.server.start();
+        LOGGER.info("keyword server listening on " + this.server.getAddress());
+    }
+
+    public void stop() {
+        this.server.stop(0);
+        for (ExtractionBatcher batcher : this.batchers.values()) {
+            batcher.close();
+        }
+        this.handlers.shutdownNow();
+    }
+
+    /**
+     * Statistics of every extractor
+     */
+    public String stats() {
+        StringBuilder sb = new StringBuilder();
+        for (ExtractionBatcher batcher : this.batchers.values()) {
+            sb.append(batcher).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private void extract(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "POST required\n");
+            return;
+        }
+        Map<String, String> params = query(exchange.getRequestURI().getRawQuery());
+
+        String name = params.containsKey("extractor") ? params.get("extractor") : this.defaultExtractor;
+        ExtractionBatcher batcher = this.batchers.get(name);
+        if (batcher == null) {
+            respond(exchange, 400, "unknown extractor : " + name + "\n");
+            return;
+        }
+        int topK;
+        try {
+            topK = params.containsKey("topK") ? Integer.parseInt(params.get("topK")) : 0;
+        } catch (NumberFormatException e) {
+            respond(exchange, 400, "invalid topK : " + params.get("topK") + "\n");
+            return;
+        }
+
+        // request body, strict UTF-8
+        byte[] body = read(exchange.getRequestBody());
+        if (body == null) {
+            respond(exchange, 413, "request body larger than " + MAX_BODY + " bytes\n");
+            return;
+        }
+        String text;
+        try {
+            text = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(body)).toString().trim();
+        } catch (CharacterCodingException e) {
+            respond(exchange, 400, "request body is not UTF-8\n");
+            return;
+        }
+
+        Map<String, Double> keywords;
+        Future<LinkedHashMap<String, Double>> result = null;
+        try {
+            result = batcher.submit(text, topK);
+            keywords = result.get(REQUEST_TIMEOUT, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            respond(exchange, 503, e.getMessage() + "\n");
+            return;
+        } catch (TimeoutException e) {
+            // nobody waits for it anymore, do not extract it
+            result.cancel(false);
+            respond(exchange, 504, "timed out\n");
+            return;
+        } catch (ExecutionException e) {
+            respond(exchange, 500, "extraction failed : " + e.getCause() + "\n");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, "interrupted\n");
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Double> entry : keywords.entrySet()) {
+            sb.append(entry.getKey()).append('\t').append(entry.getValue()).append('\n');
+        }
+        respond(exchange, 200, sb.toString());
+    }
+
+    /**
+     * Read request body
+     * @return body, null if larger than {@link #MAX_BODY}
+     */
+    private static byte[] read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            if (out.size() + n > MAX_BODY) {
+                return null;
+            }
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static Map<String, String> query(String rawQuery) throws UnsupportedEncodingException {
+        Map<String, String> params = new HashMap<String, String>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), "UTF-8"), URLDecoder.decode(pair.substring(eq + 1), "UTF-8"));
+            }
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        OutputStream out = exchange.getResponseBody();
+        try {
+            out.write(bytes);
+        } finally {
+            out.close();
+        }
+    }
+}
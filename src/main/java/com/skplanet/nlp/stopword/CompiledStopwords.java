@@ -0,0 +1,288 @@
+package com.skplanet.nlp.stopword;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * <br>
+ *     Precompiled, Memory-mapped Stopword Dictionary
+ * <br>
+ *     Binary image of a stopword list together with its character trie, written once by
+ *     {@link #compile(List, File)} and mapped read-only by {@link #map(File)}.
+ *     Nothing is parsed or built on load, and the pages of the mapped file are shared by every process using it.
+ *     Immutable and safe for concurrent use.
+ * <br>
+ *     Layout (big-endian) :
+ *     magic, version, entry count, entry chars, node count, edge count (ints),
+ *     entry offsets int[entries + 1], entry chars char[],
+ *     node priority int[nodes], node first edge int[nodes + 1], edge keys char[edges], edge targets int[edges].
+ *     Node 0 is the root, edges of a node are sorted by key.
+ * <br>
+ */
+public final class CompiledStopwords {
+
+    // serialization format
+    private static final int MAGIC = 0x52414b53;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 6 * 4;
+
+    private final ByteBuffer buffer;
+    private final int entries;
+    private final int nodes;
+    private final int edges;
+
+    // section offsets, in bytes
+    private final int entryOffsets;
+    private final int entryChars;
+    private final int nodePriority;
+    private final int nodeFirstEdge;
+    private final int edgeKeys;
+    private final int edgeTargets;
+
+    private CompiledStopwords(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("not a compiled stopword dictionary");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("unsupported compiled stopword dictionary version : " + version);
+        }
+        this.buffer = buffer;
+        this.entries = buffer.getInt(8);
+        int chars = buffer.getInt(12);
+        this.nodes = buffer.getInt(16);
+        this.edges = buffer.getInt(20);
+        if (this.entries < 0 || chars < 0 || this.nodes < 1 || this.edges < 0) {
+            throw new IOException("corrupt compiled stopword dictionary");
+        }
+
+        this.entryOffsets = HEADER_SIZE;
+        this.entryChars = this.entryOffsets + (this.entries + 1) * 4;
+        this.nodePriority = this.entryChars + chars * 2;
+        this.nodeFirstEdge = this.nodePriority + this.nodes * 4;
+        this.edgeKeys = this.nodeFirstEdge + (this.nodes + 1) * 4;
+        this.edgeTargets = this.edgeKeys + this.edges * 2;
+        if ((long) this.edgeTargets + this.edges * 4L != buffer.capacity()) {
+            throw new IOException("corrupt compiled stopword dictionary : size mismatch");
+        }
+    }
+
+    /**
+     * Map a compiled dictionary read-only
+     * @param file compiled dictionary file
+     * @return compiled dictionary
+     */
+    public static CompiledStopwords map(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            return new CompiledStopwords(buffer);
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Compile a stopword list
+     * @param stopwords stopwords, in priority order
+     * @param file output file, replaced atomically so that processes mapping the previous one are unaffected
+     */
+    public static void compile(List<String> stopwords, File file) throws IOException {
+        // ---- build trie ---- //
+        BuildNode root = new BuildNode();
+        int priority = 0;
+        int chars = 0;
+        for (String stopword : stopwords) {
+            if (stopword.length() > 0) {
+                BuildNode node = root;
+                for (int i = 0; i < stopword.length(); i++) {
+                    char key = TrieStopwordSplitter.fold(stopword.charAt(i));
+                    BuildNode child = node.children.get(key);
+                    if (child == null) {
+                        child = new BuildNode();
+                        node.children.put(key, child);
+                    }
+                    node = child;
+                }
+                if (node.priority < 0) {
+                    node.priority = priority;
+                }
+            }
+            chars += stopword.length();
+            priority++;
+        }
+
+        // ---- number nodes breadth first, root is 0 ---- //
+        List<BuildNode> order = new ArrayList<BuildNode>();
+        order.add(root);
+        for (int i = 0; i < order.size(); i++) {
+            order.addAll(order.get(i).children.values());
+        }
+        Map<BuildNode, Integer> ids = new IdentityHashMap<BuildNode, Integer>();
+        for (int i = 0; i < order.size(); i++) {
+            ids.put(order.get(i), i);
+        }
+        final int nodeCount = order.size();
+        final int edgeCount = nodeCount - 1;
+
+        // ---- write ---- //
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + (stopwords.size() + 1) * 4 + chars * 2
+                + nodeCount * 4 + (nodeCount + 1) * 4 + edgeCount * 2 + edgeCount * 4);
+        out.putInt(MAGIC).putInt(VERSION).putInt(stopwords.size()).putInt(chars).putInt(nodeCount).putInt(edgeCount);
+        int offset = 0;
+        for (String stopword : stopwords) {
+            out.putInt(offset);
+            offset += stopword.length();
+        }
+        out.putInt(offset);
+        for (String stopword : stopwords) {
+            for (int i = 0; i < stopword.length(); i++) {
+                out.putChar(stopword.charAt(i));
+            }
+        }
+        for (BuildNode node : order) {
+            out.putInt(node.priority);
+        }
+        int edge = 0;
+        for (BuildNode node : order) {
+            out.putInt(edge);
+            edge += node.children.size();
+        }
+        out.putInt(edge);
+        for (BuildNode node : order) {
+            for (Character key : node.children.keySet()) {
+                out.putChar(key);
+            }
+        }
+        for (BuildNode node : order) {
+            for (BuildNode child : node.children.values()) {
+                out.putInt(ids.get(child));
+            }
+        }
+
+        // ---- write aside, then rename over : running processes keep mapping the old file ---- //
+        File target = file.getAbsoluteFile();
+        Path tmp = Files.createTempFile(target.getParentFile().toPath(), target.getName() + ".", ".tmp");
+        try {
+            Files.write(tmp, out.array());
+            Files.move(tmp, target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Stopword list, read from the mapped file on access
+     * @return read-only stopword list
+     */
+    public List<String> getStopwords() {
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return stopword(index);
+            }
+
+            @Override
+            public int size() {
+                return entries;
+            }
+        };
+    }
+
+    /**
+     * Number of stopwords
+     * @return stopword count
+     */
+    public int size() {
+        return this.entries;
+    }
+
+    /**
+     * Splitter matching the compiled stopwords, then extra entries (e.g. stoptags) with lower priority
+     * @param extra entries following the stopwords, in priority order
+     * @return stopword splitter
+     */
+    public StopwordSplitter newSplitter(Collection<String> extra) {
+        return new MappedStopwordSplitter(this, extra.isEmpty() ? null : new TrieStopwordSplitter(extra));
+    }
+
+    /**
+     * Find the stopword matching at the given position, same rules as {@link TrieStopwordSplitter}
+     * @param s text
+     * @param at start position
+     * @param from sentence start
+     * @param to sentence end
+     * @return end position of the matched stopword, -1 if none
+     */
+    int match(String s, int at, int from, int to) {
+        if (!TrieStopwordSplitter.isBoundary(s, at, from, to)) {
+            return -1;
+        }
+        int best = Integer.MAX_VALUE;
+        int bestEnd = -1;
+        int node = 0;
+        for (int i = at; i < to; i++) {
+            node = child(node, TrieStopwordSplitter.fold(s.charAt(i)));
+            if (node < 0) {
+                break;
+            }
+            int priority = this.buffer.getInt(this.nodePriority + node * 4);
+            if (priority >= 0 && priority < best && TrieStopwordSplitter.isBoundary(s, i + 1, from, to)) {
+                best = priority;
+                bestEnd = i + 1;
+            }
+        }
+        return bestEnd;
+    }
+
+    /**
+     * Binary search of the node edges
+     * @return child node, -1 if none
+     */
+    private int child(int node, char key) {
+        int low = this.buffer.getInt(this.nodeFirstEdge + node * 4);
+        int high = this.buffer.getInt(this.nodeFirstEdge + (node + 1) * 4) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char k = this.buffer.getChar(this.edgeKeys + mid * 2);
+            if (k < key) {
+                low = mid + 1;
+            } else if (k > key) {
+                high = mid - 1;
+            } else {
+                return this.buffer.getInt(this.edgeTargets + mid * 4);
+            }
+        }
+        return -1;
+    }
+
+    private String stopword(int index) {
+        if (index < 0 || index >= this.entries) {
+            throw new IndexOutOfBoundsException("stopword index : " + index);
+        }
+        int from = this.buffer.getInt(this.entryOffsets + index * 4);
+        int to = this.buffer.getInt(this.entryOffsets + (index + 1) * 4);
+        char[] chars = new char[to - from];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = this.buffer.getChar(this.entryChars + (from + i) * 2);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Trie node used while compiling, children sorted by key
+     */
+    private static final class BuildNode {
+        private final TreeMap<Character, BuildNode> children = new TreeMap<Character, BuildNode>();
+        private int priority = -1;
+    }
+}
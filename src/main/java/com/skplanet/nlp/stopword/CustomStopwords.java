@@ -0,0 +1,105 @@
+package com.skplanet.nlp.stopword;
+
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <br>
+ *     Custom Token / Morph Stopword Dictionary
+ * <br>
+ *     Reads resource/stopword.custom, one {@code TYPE \t ENTRY} per line :
+ *     T entries remove a token from candidate words, M entries split candidates at a morph like a stoptag.
+ *     Both are kept in hash sets, so filtering costs O(1) per token or morph
+ *     and the entries never reach the stopword splitter.
+ *     Immutable and safe for concurrent use.
+ * <br>
+ */
+public final class CustomStopwords {
+    private static Logger logger = Logger.getLogger(CustomStopwords.class.getName());
+
+    // entry types
+    public static final String TOKEN = "T";
+    public static final String MORPH = "M";
+
+    public static final CustomStopwords EMPTY = new CustomStopwords(Collections.<String>emptySet(), Collections.<String>emptySet());
+
+    // lower-cased tokens
+    private final Set<String> tokens;
+    // morph texts, as the analyzer gives them
+    private final Set<String> morphs;
+
+    private CustomStopwords(Set<String> tokens, Set<String> morphs) {
+        this.tokens = tokens;
+        this.morphs = morphs;
+    }
+
+    /**
+     * Read custom stopword dictionary
+     * @param file custom stopword file
+     * @return custom stopwords
+     */
+    public static CustomStopwords read(File file) throws IOException {
+        Set<String> tokens = new HashSet<String>();
+        Set<String> morphs = new HashSet<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+        try {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().length() == 0 || line.startsWith("#")) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                String type = tab < 0 ? "" : line.substring(0, tab).trim();
+                String entry = tab < 0 ? "" : line.substring(tab + 1).trim();
+                if (entry.length() == 0) {
+                    logger.warn(file.getName() + ":" + lineNumber + " malformed entry, ignored : " + line);
+                } else if (TOKEN.equalsIgnoreCase(type)) {
+                    tokens.add(entry.toLowerCase());
+                } else if (MORPH.equalsIgnoreCase(type)) {
+                    morphs.add(entry);
+                } else {
+                    logger.warn(file.getName() + ":" + lineNumber + " unknown entry type, ignored : " + line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return new CustomStopwords(Collections.unmodifiableSet(tokens), Collections.unmodifiableSet(morphs));
+    }
+
+    /**
+     * @param token lower-cased token
+     * @return true if the token is a custom stopword
+     */
+    public boolean isToken(String token) {
+        return this.tokens.contains(token);
+    }
+
+    /**
+     * @param morph morph text
+     * @return true if the morph is a custom stopword
+     */
+    public boolean isMorph(String morph) {
+        return this.morphs.contains(morph);
+    }
+
+    public boolean isEmpty() {
+        return this.tokens.isEmpty() && this.morphs.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return this.tokens.size() + " tokens, " + this.morphs.size() + " morphs";
+    }
+}
@@ -0,0 +1,151 @@
+package com.skplanet.nlp.stopword;
+
+import com.skplanet.nlp.common.Properties;
+import com.skplanet.nlp.config.Configuration;
+import com.skplanet.nlp.util.Language;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <br>
+ *     Lazily Loaded Per-Language Stopword Dictionaries
+ * <br>
+ *     Stopword dictionaries of the languages other than the default one (Korean, whose dictionary the
+ *     extractor loads and reloads itself), each built from its own files the first time a document of
+ *     that language shows up. A language without files, or whose files fail to load, has no dictionary :
+ *     its documents stay on the default one.
+ *     Thread-safe, loading holds a lock, lookups do not.
+ * <br>
+ */
+public final class LanguageDictionaries {
+    private static Logger logger = Logger.getLogger(LanguageDictionaries.class.getName());
+
+    // marks a language without dictionary
+    private static final Object MISSING = new Object();
+
+    private final Map<Language, List<File>> files;
+    private final String engine;
+    private final Collection<String> extra;
+    // dictionary by language ordinal, MISSING or null until first use
+    private final AtomicReferenceArray<Object> dictionaries = new AtomicReferenceArray<Object>(Language.values().length);
+
+    /**
+     * Constructor, nothing is loaded yet
+     * @param files stopword files of each language
+     * @param engine splitter engine
+     * @param extra entries split after the stopwords, e.g. stoptags
+     */
+    public LanguageDictionaries(Map<Language, List<File>> files, String engine, Collection<String> extra) {
+        this.files = new EnumMap<Language, List<File>>(files);
+        this.engine = engine;
+        this.extra = extra;
+    }
+
+    /**
+     * Stopword files from rake.properties : STOPWORD_FILES_JA, STOPWORD_FILES_EN
+     * @param config configuration, rake.properties loaded
+     * @param engine splitter engine
+     * @param extra entries split after the stopwords, e.g. stoptags
+     * @return dictionaries of the configured languages
+     */
+    public static LanguageDictionaries configure(Configuration config, String engine, Collection<String> extra) {
+        Map<Language, String> properties = new EnumMap<Language, String>(Language.class);
+        properties.put(Language.JAPANESE, Properties.STOPWORD_FILES_JA);
+        properties.put(Language.ENGLISH, Properties.STOPWORD_FILES_EN);
+
+        Map<Language, List<File>> files = new EnumMap<Language, List<File>>(Language.class);
+        for (Map.Entry<Language, String> property : properties.entrySet()) {
+            String names = config.readProperty(Properties.RAKE_CONFIG, property.getValue());
+            if (names == null || names.trim().length() == 0) {
+                continue;
+            }
+            List<File> languageFiles = new ArrayList<File>();
+            for (String name : names.split(",")) {
+                URL url = config.getResource(name.trim());
+                if (url == null) {
+                    logger.warn("stopword file not found, " + property.getKey().getCode() + " ignored : " + name.trim());
+                    languageFiles = null;
+                    break;
+                }
+                languageFiles.add(new File(url.getFile()));
+            }
+            if (languageFiles != null) {
+                files.put(property.getKey(), languageFiles);
+            }
+        }
+        return new LanguageDictionaries(files, engine, extra);
+    }
+
+    /**
+     * Get the dictionary of a language, loading it on first use
+     * @param language document language
+     * @return stopword dictionary, null if the language has none
+     */
+    public StopwordDictionary get(Language language) {
+        Object dictionary = this.dictionaries.get(language.ordinal());
+        if (dictionary == null) {
+            dictionary = load(language);
+        }
+        return dictionary == MISSING ? null : (StopwordDictionary) dictionary;
+    }
+
+    private synchronized Object load(Language language) {
+        Object dictionary = this.dictionaries.get(language.ordinal());
+        if (dictionary != null) {
+            return dictionary;
+        }
+        List<File> languageFiles = this.files.get(language);
+        if (languageFiles == null) {
+            dictionary = MISSING;
+        } else {
+            try {
+                StopwordDictionary loaded = StopwordFiles.load(languageFiles, this.engine, this.extra, 1);
+                logger.info("stopword dictionary " + language.getCode() + " " + loaded);
+                dictionary = loaded;
+            } catch (IOException e) {
+                logger.warn("failed to load stopword dictionary " + language.getCode() + " : " + languageFiles, e);
+                dictionary = MISSING;
+            }
+        }
+        this.dictionaries.set(language.ordinal(), dictionary);
+        return dictionary;
+    }
+
+    /**
+     * Forget every loaded dictionary, each is loaded again on next use
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < this.dictionaries.length(); i++) {
+            this.dictionaries.set(i, null);
+        }
+    }
+
+    /**
+     * Languages having stopword files
+     * @return configured languages
+     */
+    public Collection<Language> getLanguages() {
+        return Collections.unmodifiableSet(this.files.keySet());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("language dictionaries :");
+        for (Map.Entry<Language, List<File>> entry : this.files.entrySet()) {
+            Object dictionary = this.dictionaries.get(entry.getKey().ordinal());
+            sb.append(' ').append(entry.getKey().getCode()).append(' ').append(entry.getValue())
+                    .append(dictionary == null ? " (not loaded)" : dictionary == MISSING ? " (missing)" : " (loaded)");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.skplanet.nlp.stopword;
+
+import java.util.List;
+
+/**
+ * <br>
+ *     Stopword Splitter over a Memory-mapped Compiled Dictionary
+ * <br>
+ *     Same scan as {@link TrieStopwordSplitter}, walking the mapped trie instead of heap nodes.
+ *     Extra entries (stoptags) come after every stopword in priority order,
+ *     so they are only tried at positions where no stopword matches.
+ * <br>
+ */
+final class MappedStopwordSplitter implements StopwordSplitter {
+
+    private final CompiledStopwords stopwords;
+    // extra entries, null if none
+    private final TrieStopwordSplitter extra;
+
+    MappedStopwordSplitter(CompiledStopwords stopwords, TrieStopwordSplitter extra) {
+        this.stopwords = stopwords;
+        this.extra = extra;
+    }
+
+    public void split(String sentence, List<String> candidates) {
+        split(sentence, 0, sentence.length(), candidates);
+    }
+
+    public void split(String text, int from, int to, List<String> candidates) {
+        int start = from;
+        int i = from;
+        while (i < to) {
+            if (text.charAt(i) == TrieStopwordSplitter.SEPARATOR) {
+                TrieStopwordSplitter.emit(text, start, i, candidates);
+                start = ++i;
+                continue;
+            }
+            int end = match(text, i, from, to);
+            if (end > i) {
+                TrieStopwordSplitter.emit(text, start, i, candidates);
+                start = i = end;
+                continue;
+            }
+            i++;
+        }
+        TrieStopwordSplitter.emit(text, start, to, candidates);
+    }
+
+    public int match(String text, int at, int from, int to) {
+        int end = this.stopwords.match(text, at, from, to);
+        if (end < 0 && this.extra != null) {
+            end = this.extra.match(text, at, from, to);
+        }
+        return end;
+    }
+
+    public int size() {
+        return this.stopwords.size() + (this.extra == null ? 0 : this.extra.size());
+    }
+}
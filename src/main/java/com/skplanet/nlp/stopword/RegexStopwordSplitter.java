@@ -0,0 +1,73 @@
+package com.skplanet.nlp.stopword;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <br>
+ *     Regex based Stopword Splitter
+ * <br>
+ *     Compiles every entry into a single {@code \bword\b|\bword\b|...} pattern.
+ *     This is the original implementation, kept as the reference for equivalence checks.
+ * <br>
+ */
+public final class RegexStopwordSplitter implements StopwordSplitter {
+
+    // compiled stopword pattern
+    private final Pattern pattern;
+    // number of entries
+    private final int size;
+
+    /**
+     * Constructor
+     * @param entries stopwords and stoptags, in priority order
+     */
+    public RegexStopwordSplitter(Collection<String> entries) {
+        final StringBuilder stopWordPatternBuilder = new StringBuilder();
+        int count = 0;
+        for (final String entry : entries) {
+            if (count++ != 0) {
+                stopWordPatternBuilder.append("|");
+            }
+            stopWordPatternBuilder.append("\\b").append(entry).append("\\b");
+        }
+        this.pattern = Pattern.compile(stopWordPatternBuilder.toString(), Pattern.CASE_INSENSITIVE);
+        this.size = entries.size();
+    }
+
+    public void split(String sentence, List<String> candidates) {
+        String[] tokens = this.pattern.matcher(sentence).replaceAll("|").split("\\|");
+        for (final String token : tokens) {
+            String c = token.trim().toLowerCase();
+            if (c.length() > 0) {
+                candidates.add(c);
+            }
+        }
+    }
+
+    public void split(String text, int from, int to, List<String> candidates) {
+        split(text.substring(from, to), candidates);
+    }
+
+    public int match(String text, int at, int from, int to) {
+        // the match must start at 'at', boundaries look at the rest of the sentence only
+        Matcher matcher = this.pattern.matcher(text.substring(from, to));
+        matcher.useTransparentBounds(true);
+        matcher.region(at - from, to - from);
+        return matcher.lookingAt() && matcher.end() > matcher.start() ? matcher.end() + from : -1;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get compiled pattern
+     * @return stopword pattern
+     */
+    public Pattern getPattern() {
+        return this.pattern;
+    }
+}
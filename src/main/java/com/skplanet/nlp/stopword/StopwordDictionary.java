@@ -0,0 +1,99 @@
+package com.skplanet.nlp.stopword;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <br>
+ *     Immutable Stopword Dictionary Snapshot
+ * <br>
+ *     Holds the stopword list together with the splitter compiled from it and the reload metrics.
+ *     A reload builds a new snapshot and swaps it in as a whole, readers never see a partial dictionary.
+ * <br>
+ */
+public final class StopwordDictionary {
+
+    // stopword list
+    private final List<String> stopwords;
+    // compiled splitter (stopwords + stoptags)
+    private final StopwordSplitter splitter;
+    // reload generation, starting from 1
+    private final long generation;
+    // time spent to read and compile, in milliseconds
+    private final long buildTime;
+    // time this snapshot was built, in milliseconds since epoch
+    private final long timestamp;
+    // no entry can match across whitespace
+    private final boolean wordLocal;
+
+    /**
+     * Constructor
+     * @param stopwords stopword list
+     * @param splitter splitter compiled from the stopwords
+     * @param generation reload generation
+     * @param buildTime build time in milliseconds
+     */
+    public StopwordDictionary(List<String> stopwords, StopwordSplitter splitter, long generation, long buildTime) {
+        this.stopwords = Collections.unmodifiableList(stopwords);
+        this.splitter = splitter;
+        this.generation = generation;
+        this.buildTime = buildTime;
+        this.timestamp = System.currentTimeMillis();
+        this.wordLocal = !(splitter instanceof RegexStopwordSplitter) && !hasWhitespace(stopwords);
+    }
+
+    public List<String> getStopwords() {
+        return this.stopwords;
+    }
+
+    public StopwordSplitter getSplitter() {
+        return this.splitter;
+    }
+
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    public long getBuildTime() {
+        return this.buildTime;
+    }
+
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * Whether every match lies within a single whitespace free word :
+     * entries are literal (not regex patterns) and no stopword holds whitespace.
+     * Text can then be matched word by word with {@link StopwordSplitter#match(String, int, int, int)}.
+     * @return true if matches never span whitespace
+     */
+    public boolean isWordLocal() {
+        return this.wordLocal;
+    }
+
+    /**
+     * Number of entries in the splitter, stopwords and stoptags
+     * @return entry count
+     */
+    public int size() {
+        return this.splitter.size();
+    }
+
+    private static boolean hasWhitespace(List<String> stopwords) {
+        for (String stopword : stopwords) {
+            for (int i = 0; i < stopword.length(); i++) {
+                if (Character.isWhitespace(stopword.charAt(i)) || stopword.charAt(i) <= ' ') {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "generation " + this.generation + " : " + this.stopwords.size() + " stopwords, "
+                + size() + " entries, built in " + this.buildTime + " ms";
+    }
+}
@@ -0,0 +1,104 @@
+package com.skplanet.nlp.stopword;
+
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <br>
+ *     Stopword File Watcher
+ * <br>
+ *     Polls the stopword file on a background daemon thread and notifies the listener
+ *     when its modification time or size changes. The listener rebuilds the dictionary
+ *     off the request path, extraction keeps using the previous snapshot meanwhile.
+ * <br>
+ */
+public final class StopwordFileWatcher {
+    private static Logger logger = Logger.getLogger(StopwordFileWatcher.class.getName());
+
+    /**
+     * Stopword change listener
+     */
+    public interface Listener {
+        /**
+         * Called on the watcher thread when the file has changed
+         * @param file changed stopword file
+         */
+        void stopwordChanged(File file) throws IOException;
+    }
+
+    private final File file;
+    private final Listener listener;
+    private final ScheduledExecutorService scheduler;
+
+    // last seen file state
+    private long lastModified;
+    private long lastLength;
+
+    /**
+     * Constructor
+     * @param file stopword file to watch
+     * @param listener change listener
+     */
+    public StopwordFileWatcher(File file, Listener listener) {
+        this.file = file;
+        this.listener = listener;
+        this.lastModified = file.lastModified();
+        this.lastLength = file.length();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "stopword-watcher");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Start watching
+     * @param interval polling interval in seconds
+     */
+    public void start(long interval) {
+        logger.info("watching " + this.file.getName() + " every " + interval + " sec");
+        this.scheduler.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                check();
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop watching
+     */
+    public void stop() {
+        this.scheduler.shutdownNow();
+    }
+
+    private void check() {
+        long modified = this.file.lastModified();
+        long length = this.file.length();
+        if (modified == this.lastModified && length == this.lastLength) {
+            return;
+        }
+        // a file being rewritten may be empty or missing for a moment, wait for the next poll
+        if (modified == 0L || length == 0L) {
+            return;
+        }
+        this.lastModified = modified;
+        this.lastLength = length;
+        logger.info("stopword file changed : " + this.file.getName());
+        try {
+            this.listener.stopwordChanged(this.file);
+        } catch (IOException e) {
+            logger.error("failed to reload stopword : " + this.file.getName(), e);
+        } catch (RuntimeException e) {
+            // never let an exception cancel the scheduled task
+            logger.error("failed to reload stopword : " + this.file.getName(), e);
+        }
+    }
+}
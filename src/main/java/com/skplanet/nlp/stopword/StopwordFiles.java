@@ -0,0 +1,124 @@
+package com.skplanet.nlp.stopword;
+
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <br>
+ *     Stopword File Loading
+ * <br>
+ *     Stopword files are UTF-8 text, one stopword per line, '#' starting a comment line.
+ *     A compiled dictionary (see {@link CompiledStopwords}) is looked up next to the text file
+ *     with the {@link #COMPILED_SUFFIX} suffix, and is used only while it is not older than the text file.
+ * <br>
+ */
+public final class StopwordFiles {
+    private static Logger logger = Logger.getLogger(StopwordFiles.class.getName());
+
+    public static final String COMPILED_SUFFIX = ".bin";
+
+    private StopwordFiles() {
+    }
+
+    /**
+     * Read a stopword text file
+     * @param file stopword file
+     * @return trimmed, lower-cased stopwords in file order
+     */
+    public static List<String> read(File file) throws IOException {
+        List<String> stopwords = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() == 0 || line.startsWith("#")) {
+                    continue;
+                }
+                stopwords.add(line.trim().toLowerCase());
+            }
+        } finally {
+            reader.close();
+        }
+        return stopwords;
+    }
+
+    /**
+     * Compiled dictionary file of a stopword text file
+     * @param file stopword text file
+     * @return compiled dictionary file
+     */
+    public static File compiledFile(File file) {
+        return new File(file.getPath() + COMPILED_SUFFIX);
+    }
+
+    /**
+     * Map the compiled dictionary of a stopword text file, if it is up to date
+     * @param file stopword text file
+     * @return compiled dictionary, null if missing, stale or unreadable
+     */
+    public static CompiledStopwords loadCompiled(File file) {
+        File compiled = compiledFile(file);
+        if (!compiled.isFile()) {
+            return null;
+        }
+        if (compiled.lastModified() < file.lastModified()) {
+            logger.warn("compiled stopword dictionary is older than " + file.getName() + ", ignored : " + compiled);
+            return null;
+        }
+        try {
+            CompiledStopwords stopwords = CompiledStopwords.map(compiled);
+            logger.info("compiled stopword dictionary mapped : " + compiled + " (" + stopwords.size() + " stopwords)");
+            return stopwords;
+        } catch (IOException e) {
+            logger.warn("failed to map compiled stopword dictionary, ignored : " + compiled, e);
+            return null;
+        }
+    }
+
+    /**
+     * Build a dictionary from stopword files, the first one mapped from its compiled dictionary if up to date
+     * @param files stopword text files, in priority order
+     * @param engine splitter engine
+     * @param extra entries split after the stopwords, e.g. stoptags
+     * @param generation dictionary generation
+     * @return stopword dictionary
+     */
+    public static StopwordDictionary load(List<File> files, String engine, Collection<String> extra, long generation)
+            throws IOException {
+        final long start = System.currentTimeMillis();
+        CompiledStopwords compiled = files.isEmpty() ? null : loadCompiled(files.get(0));
+        // stopwords of the files not mapped
+        List<String> read = new ArrayList<String>();
+        for (int i = compiled == null ? 0 : 1; i < files.size(); i++) {
+            read.addAll(read(files.get(i)));
+        }
+        List<String> entries = new ArrayList<String>(read);
+        entries.addAll(extra);
+
+        List<String> stopwords;
+        StopwordSplitter splitter;
+        if (compiled != null) {
+            // the other files are split after the mapped one, like extra entries
+            splitter = StopwordSplitters.newSplitter(engine, compiled, entries);
+            if (read.isEmpty()) {
+                stopwords = compiled.getStopwords();
+            } else {
+                stopwords = new ArrayList<String>(compiled.getStopwords());
+                stopwords.addAll(read);
+            }
+        } else {
+            splitter = StopwordSplitters.newSplitter(engine, entries);
+            stopwords = read;
+        }
+        return new StopwordDictionary(stopwords, splitter, generation, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,50 @@
+package com.skplanet.nlp.stopword;
+
+import java.util.List;
+
+/**
+ * <br>
+ *     Stopword Splitter Interface
+ * <br>
+ *     Splits a sentence into keyword candidates at every stopword (or stoptag) occurrence.
+ *     Every implementation must behave like the reference regex splitter:
+ *     entries are matched case-insensitively (ASCII only) on word boundaries,
+ *     the literal '|' is treated as a separator, and each candidate is trimmed and lower-cased.
+ *     Implementations are immutable and safe for concurrent use.
+ * <br>
+ */
+public interface StopwordSplitter {
+
+    /**
+     * Split sentence into keyword candidates
+     * @param sentence sentence to be split
+     * @param candidates list to which non-empty candidates are appended in order
+     */
+    void split(String sentence, List<String> candidates);
+
+    /**
+     * Split a range of a text into keyword candidates, as {@code split(text.substring(from, to), candidates)}
+     * without copying the range
+     * @param text text holding the sentence
+     * @param from sentence start, inclusive
+     * @param to sentence end, exclusive
+     * @param candidates list to which non-empty candidates are appended in order
+     */
+    void split(String text, int from, int to, List<String> candidates);
+
+    /**
+     * Find the entry matching at a position, the one split() would cut there
+     * @param text text holding the sentence
+     * @param at start position
+     * @param from sentence start, word boundaries are checked within [from, to)
+     * @param to sentence end, exclusive
+     * @return end position of the matched entry, -1 if none
+     */
+    int match(String text, int at, int from, int to);
+
+    /**
+     * Number of entries (stopwords and stoptags) this splitter was built with
+     * @return entry count
+     */
+    int size();
+}
@@ -0,0 +1,71 @@
+package com.skplanet.nlp.stopword;
+
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <br>
+ *     Stopword Splitter Factory
+ * <br>
+ *     Splitter engine is selected by STOPWORD_SPLITTER in rake.properties
+ * <br>
+ */
+public final class StopwordSplitters {
+    private static Logger logger = Logger.getLogger(StopwordSplitters.class.getName());
+
+    // engine names
+    public static final String REGEX = "regex";
+    public static final String TRIE = "trie";
+
+    // default engine
+    public static final String DEFAULT = TRIE;
+
+    private StopwordSplitters() {
+    }
+
+    /**
+     * Build stopword splitter
+     * @param engine engine name, {@link #DEFAULT} if null or empty
+     * @param entries stopwords and stoptags, in priority order
+     * @return stopword splitter
+     */
+    public static StopwordSplitter newSplitter(String engine, Collection<String> entries) {
+        if (entries.size() == 0) {
+            logger.warn("No Stopwords!");
+        }
+        String name = name(engine);
+        if (REGEX.equals(name)) {
+            return new RegexStopwordSplitter(entries);
+        } else if (TRIE.equals(name)) {
+            return new TrieStopwordSplitter(entries);
+        }
+        throw new IllegalArgumentException("unknown stopword splitter : " + engine);
+    }
+
+    /**
+     * Build stopword splitter from a compiled dictionary
+     * - the trie engine walks the mapped dictionary, other engines are built from its stopword list
+     * @param engine engine name, {@link #DEFAULT} if null or empty
+     * @param compiled compiled stopwords
+     * @param extra entries following the stopwords (e.g. stoptags), in priority order
+     * @return stopword splitter
+     */
+    public static StopwordSplitter newSplitter(String engine, CompiledStopwords compiled, Collection<String> extra) {
+        if (TRIE.equals(name(engine))) {
+            if (compiled.size() == 0 && extra.size() == 0) {
+                logger.warn("No Stopwords!");
+            }
+            return compiled.newSplitter(extra);
+        }
+        List<String> entries = new ArrayList<String>(compiled.getStopwords());
+        entries.addAll(extra);
+        return newSplitter(engine, entries);
+    }
+
+    private static String name(String engine) {
+        return (engine == null || engine.trim().length() == 0) ? DEFAULT : engine.trim().toLowerCase();
+    }
+}
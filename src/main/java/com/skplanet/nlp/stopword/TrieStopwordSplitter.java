@@ -0,0 +1,170 @@
+package com.skplanet.nlp.stopword;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <br>
+ *     Trie based Stopword Splitter
+ * <br>
+ *     Scans the sentence once, walking a character trie from every word boundary.
+ *     Produces exactly the same candidates as {@link RegexStopwordSplitter}:
+ *     when several entries match at one position the earliest entry wins (regex alternation order),
+ *     and word boundaries follow {@code java.util.regex} {@code \b} semantics.
+ *     Entries are matched literally, not as regular expressions.
+ * <br>
+ */
+public final class TrieStopwordSplitter implements StopwordSplitter {
+
+    static final char SEPARATOR = '|';
+
+    // trie root
+    private final Node root;
+    // number of entries
+    private final int size;
+
+    /**
+     * Constructor
+     * @param entries stopwords and stoptags, in priority order
+     */
+    public TrieStopwordSplitter(Collection<String> entries) {
+        this.root = new Node();
+        int priority = 0;
+        for (String entry : entries) {
+            if (entry.length() > 0) {
+                this.root.insert(entry, priority);
+            }
+            priority++;
+        }
+        this.size = entries.size();
+    }
+
+    public void split(String sentence, List<String> candidates) {
+        split(sentence, 0, sentence.length(), candidates);
+    }
+
+    public void split(String text, int from, int to, List<String> candidates) {
+        int start = from;
+        int i = from;
+        while (i < to) {
+            if (text.charAt(i) == SEPARATOR) {
+                emit(text, start, i, candidates);
+                start = ++i;
+                continue;
+            }
+            int end = match(text, i, from, to);
+            if (end > i) {
+                emit(text, start, i, candidates);
+                start = i = end;
+                continue;
+            }
+            i++;
+        }
+        emit(text, start, to, candidates);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int match(String s, int at, int from, int to) {
+        if (!isBoundary(s, at, from, to)) {
+            return -1;
+        }
+        int best = Integer.MAX_VALUE;
+        int bestEnd = -1;
+        Node node = this.root;
+        for (int i = at; i < to; i++) {
+            node = node.child(fold(s.charAt(i)));
+            if (node == null) {
+                break;
+            }
+            if (node.priority >= 0 && node.priority < best && isBoundary(s, i + 1, from, to)) {
+                best = node.priority;
+                bestEnd = i + 1;
+            }
+        }
+        return bestEnd;
+    }
+
+    /**
+     * Append trimmed, lower-cased candidate s[start, end) if not empty
+     */
+    static void emit(String s, int start, int end, List<String> candidates) {
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start < end) {
+            candidates.add(s.substring(start, end).toLowerCase());
+        }
+    }
+
+    /**
+     * Word boundary within the sentence s[from, to), as {@code \b} in java.util.regex
+     */
+    static boolean isBoundary(String s, int i, int from, int to) {
+        boolean left = i > from && isWord(s.charAt(i - 1));
+        boolean right = i < to && isWord(s.charAt(i));
+        return left != right;
+    }
+
+    private static boolean isWord(char ch) {
+        return ch == '_' || Character.isLetterOrDigit(ch);
+    }
+
+    /**
+     * ASCII only case folding, as {@link java.util.regex.Pattern#CASE_INSENSITIVE}
+     */
+    static char fold(char ch) {
+        return (ch >= 'A' && ch <= 'Z') ? (char) (ch + ('a' - 'A')) : ch;
+    }
+
+    /**
+     * Trie node, children kept in sorted parallel arrays
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        // lowest entry index ending at this node, -1 if none
+        private int priority = -1;
+
+        Node child(char key) {
+            int idx = Arrays.binarySearch(this.keys, key);
+            return idx >= 0 ? this.children[idx] : null;
+        }
+
+        void insert(String entry, int priority) {
+            Node node = this;
+            for (int i = 0; i < entry.length(); i++) {
+                node = node.getOrAdd(fold(entry.charAt(i)));
+            }
+            if (node.priority < 0) {
+                node.priority = priority;
+            }
+        }
+
+        private Node getOrAdd(char key) {
+            int idx = Arrays.binarySearch(this.keys, key);
+            if (idx >= 0) {
+                return this.children[idx];
+            }
+            int pos = -idx - 1;
+            char[] newKeys = new char[this.keys.length + 1];
+            Node[] newChildren = new Node[this.children.length + 1];
+            System.arraycopy(this.keys, 0, newKeys, 0, pos);
+            System.arraycopy(this.children, 0, newChildren, 0, pos);
+            System.arraycopy(this.keys, pos, newKeys, pos + 1, this.keys.length - pos);
+            System.arraycopy(this.children, pos, newChildren, pos + 1, this.children.length - pos);
+            Node node = new Node();
+            newKeys[pos] = key;
+            newChildren[pos] = node;
+            this.keys = newKeys;
+            this.children = newChildren;
+            return node;
+        }
+    }
+}
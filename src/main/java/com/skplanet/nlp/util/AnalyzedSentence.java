@@ -0,0 +1,71 @@
+package com.skplanet.nlp.util;
+
+/**
+ * <br>
+ *     Morphological analysis result of a single sentence
+ * <br>
+ *     Morph text and POS tag are kept in parallel arrays, both taken from one NLP analysis,
+ *     along with the {@link PosTags} id of each tag.
+ * <br>
+ */
+public final class AnalyzedSentence {
+
+    // morph text
+    private final String[] morphs;
+    // pos tags
+    private final String[] tags;
+    // pos tag ids
+    private final int[] tagIds;
+
+    /**
+     * Constructor
+     * @param morphs morph text
+     * @param tags pos tags, same length as morphs
+     */
+    public AnalyzedSentence(String[] morphs, String[] tags) {
+        if (morphs.length != tags.length) {
+            throw new IllegalArgumentException("morphs and tags differ in length : " + morphs.length + " != " + tags.length);
+        }
+        this.morphs = morphs;
+        this.tags = tags;
+        this.tagIds = new int[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            this.tagIds[i] = PosTags.id(tags[i]);
+        }
+    }
+
+    /**
+     * Number of morphs
+     * @return morph count
+     */
+    public int size() {
+        return this.morphs.length;
+    }
+
+    /**
+     * Get morph text
+     * @param i morph index
+     * @return morph text
+     */
+    public String getMorph(int i) {
+        return this.morphs[i];
+    }
+
+    /**
+     * Get POS tag
+     * @param i morph index
+     * @return pos tag
+     */
+    public String getTag(int i) {
+        return this.tags[i];
+    }
+
+    /**
+     * Get POS tag id
+     * @param i morph index
+     * @return pos tag id, see {@link PosTags}
+     */
+    public int getTagId(int i) {
+        return this.tagIds[i];
+    }
+}
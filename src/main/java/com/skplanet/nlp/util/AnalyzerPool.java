@@ -0,0 +1,250 @@
+package com.skplanet.nlp.util;
+
+import com.skplanet.nlp.metrics.Histogram;
+import com.skplanet.nlp.metrics.HistogramSnapshot;
+import org.apache.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <br>
+ *     Morphological Analyzer Pool
+ * <br>
+ *     Fixed number of analyzer instances, each used by one thread at a time, so analyzers that are not
+ *     (or not known to be) thread-safe can serve concurrent extraction and throughput scales with the pool size.
+ *     Instances are all created up front, in parallel. A caller waits up to the timeout for a free instance,
+ *     then fails with {@link RejectedExecutionException}.
+ *     The pool is itself a {@link MorphAnalyzer}, borrowing an instance around each call.
+ *     Wait time, utilization and timeouts are published as an MXBean.
+ * <br>
+ */
+public final class AnalyzerPool implements MorphAnalyzer, AnalyzerPoolMXBean {
+    private static Logger logger = Logger.getLogger(AnalyzerPool.class.getName());
+
+    private static final String DOMAIN = "com.skplanet.nlp";
+
+    /**
+     * Creates the pooled analyzers, called concurrently during warm-up
+     */
+    public interface Factory {
+        MorphAnalyzer newAnalyzer() throws IOException;
+    }
+
+    private final String name;
+    private final int size;
+    private final long timeoutNanos;
+    private final BlockingQueue<Lease> idle;
+
+    // statistics
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder busyNanos = new LongAdder();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final Histogram waitTime = new Histogram("wait");
+    private volatile long resetTime;
+
+    private ObjectName objectName = null;
+
+    /**
+     * Constructor, creates every analyzer before returning
+     * @param name pool name, used for the JMX object name and logging
+     * @param factory analyzer factory
+     * @param size number of analyzers
+     * @param timeoutMillis longest wait for a free analyzer
+     */
+    public AnalyzerPool(String name, final Factory factory, int size, long timeoutMillis) throws IOException {
+        if (size < 1) {
+            throw new IllegalArgumentException("pool size must be positive : " + size);
+        }
+        this.name = name;
+        this.size = size;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.idle = new ArrayBlockingQueue<Lease>(size);
+
+        // ---------------------------- //
+        // parallel warm-up
+        // ---------------------------- //
+        logger.info(name + " : creating " + size + " analyzers ...");
+        final long start = System.currentTimeMillis();
+        ExecutorService warmup = Executors.newFixedThreadPool(Math.min(size, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<MorphAnalyzer>> futures = new ArrayList<Future<MorphAnalyzer>>(size);
+            for (int i = 0; i < size; i++) {
+                futures.add(warmup.submit(new Callable<MorphAnalyzer>() {
+                    public MorphAnalyzer call() throws IOException {
+                        return factory.newAnalyzer();
+                    }
+                }));
+            }
+            for (Future<MorphAnalyzer> future : futures) {
+                this.idle.add(new Lease(future.get()));
+            }
+        } catch (ExecutionException e) {
+            throw new IOException(name + " : failed to create analyzer", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(name + " : interrupted while creating analyzers", e);
+        } finally {
+            warmup.shutdownNow();
+        }
+        this.resetTime = System.nanoTime();
+        logger.info(name + " : " + size + " analyzers ready in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Borrow an analyzer, give it back with {@link #release(Lease)}
+     * @return lease of a free analyzer
+     * @throws RejectedExecutionException if none is free within the timeout, or the thread is interrupted
+     */
+    public Lease borrow() {
+        final long start = System.nanoTime();
+        Lease lease = this.idle.poll();
+        if (lease == null) {
+            try {
+                lease = this.idle.poll(this.timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException(this.name + " : interrupted while waiting for an analyzer");
+            }
+        }
+        final long now = System.nanoTime();
+        this.waitTime.record(now - start);
+        if (lease == null) {
+            this.timeouts.incrementAndGet();
+            throw new RejectedExecutionException(this.name + " : no analyzer free within "
+                    + TimeUnit.NANOSECONDS.toMillis(this.timeoutNanos) + " ms");
+        }
+        lease.borrowed = true;
+        lease.borrowedAt = now;
+        this.active.incrementAndGet();
+        return lease;
+    }
+
+    /**
+     * Give back a borrowed analyzer
+     * @param lease lease returned by {@link #borrow()}, not used afterwards
+     */
+    public void release(Lease lease) {
+        if (!lease.borrowed) {
+            throw new IllegalStateException(this.name + " : analyzer released twice");
+        }
+        lease.borrowed = false;
+        this.busyNanos.add(System.nanoTime() - lease.borrowedAt);
+        this.active.decrementAndGet();
+        this.idle.add(lease);
+    }
+
+    public String[] getSentences(String text) {
+        Lease lease = borrow();
+        try {
+            return lease.analyzer.getSentences(text);
+        } finally {
+            release(lease);
+        }
+    }
+
+    public AnalyzedSentence analyze(String text) {
+        Lease lease = borrow();
+        try {
+            return lease.analyzer.analyze(text);
+        } finally {
+            release(lease);
+        }
+    }
+
+    // ---- statistics ---- //
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public int getActive() {
+        return this.active.get();
+    }
+
+    public double getUtilization() {
+        long elapsed = System.nanoTime() - this.resetTime;
+        return elapsed <= 0 ? 0.0 : Math.min(1.0, this.busyNanos.sum() / ((double) elapsed * this.size));
+    }
+
+    public HistogramSnapshot getWaitTime() {
+        return this.waitTime.snapshot(1000);
+    }
+
+    public long getTimeouts() {
+        return this.timeouts.get();
+    }
+
+    public void reset() {
+        this.waitTime.reset();
+        this.busyNanos.reset();
+        this.timeouts.set(0);
+        this.resetTime = System.nanoTime();
+    }
+
+    /**
+     * Register to the platform MBean server, failures are logged only
+     */
+    public synchronized void register() {
+        if (this.objectName != null) {
+            return;
+        }
+        try {
+            ObjectName candidate = new ObjectName(DOMAIN + ":type=AnalyzerPool,name=" + ObjectName.quote(this.name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, candidate);
+            this.objectName = candidate;
+            logger.info("analyzer pool registered : " + candidate);
+        } catch (JMException e) {
+            logger.warn("failed to register analyzer pool : " + this.name, e);
+        }
+    }
+
+    /**
+     * Unregister from the MBean server, the analyzers stay usable
+     */
+    public synchronized void close() {
+        if (this.objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+            } catch (JMException e) {
+                logger.warn("failed to unregister analyzer pool : " + this.objectName, e);
+            }
+            this.objectName = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "analyzer pool " + this.name + " : size " + this.size
+                + ", active " + getActive()
+                + ", utilization " + String.format("%.2f", getUtilization())
+                + ", timeouts " + getTimeouts()
+                + ", " + getWaitTime();
+    }
+
+    /**
+     * Borrowed analyzer, valid until released
+     */
+    public static final class Lease {
+        private final MorphAnalyzer analyzer;
+        private boolean borrowed = false;
+        // borrow time, in nanoseconds
+        private long borrowedAt;
+
+        private Lease(MorphAnalyzer analyzer) {
+            this.analyzer = analyzer;
+        }
+
+        public MorphAnalyzer get() {
+            return this.analyzer;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.skplanet.nlp.util;
+
+import com.skplanet.nlp.metrics.HistogramSnapshot;
+
+/**
+ * <br>
+ *     JMX view of {@link AnalyzerPool}
+ * <br>
+ */
+public interface AnalyzerPoolMXBean {
+
+    /**
+     * Number of analyzer instances
+     * @return pool size
+     */
+    int getSize();
+
+    /**
+     * Number of analyzers currently borrowed
+     * @return busy analyzers
+     */
+    int getActive();
+
+    /**
+     * Fraction of analyzer time spent borrowed since start or reset
+     * @return utilization, 0 to 1
+     */
+    double getUtilization();
+
+    /**
+     * Time spent waiting for an analyzer, in microseconds
+     * @return wait time snapshot
+     */
+    HistogramSnapshot getWaitTime();
+
+    /**
+     * Number of borrows that gave up after the timeout
+     * @return timeout count
+     */
+    long getTimeouts();
+
+    /**
+     * Clear wait time, utilization and timeout statistics
+     */
+    void reset();
+}
@@ -0,0 +1,143 @@
+package com.skplanet.nlp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <br>
+ *     In-Memory Morphological Analyzer
+ * <br>
+ *     Lightweight, deterministic stand-in for NLPAPI, needing no dictionary or configuration.
+ *     Meant for tests, benchmarks and pipelines that must run without the external NLP resources,
+ *     not for real analysis :
+ *     - sentences end at '.', '!', '?' followed by whitespace, or at a line break<br>
+ *     - each whitespace token is cut into runs of Hangul, latin letters, digits and symbols<br>
+ *     - a Hangul run loses a trailing particle (jks, jko, jkg, jkb, jc, jx) or sentence ending (ef),
+ *       what remains is a common noun (nng)<br>
+ *     - latin runs are sl, digit runs sn, sentence punctuation sf, other punctuation sp, anything else sw<br>
+ *     Stateless and thread-safe.
+ * <br>
+ */
+public final class InMemoryMorphAnalyzer implements MorphAnalyzer {
+
+    // suffixes and their tags, longest first so the longest suffix wins
+    private static final String[][] SUFFIXES = {
+            {"습니다", "ef"}, {"에서", "jkb"}, {"에게", "jkb"}, {"으로", "jkb"}, {"까지", "jkb"}, {"부터", "jkb"},
+            {"니다", "ef"}, {"이", "jks"}, {"가", "jks"}, {"을", "jko"}, {"를", "jko"}, {"의", "jkg"},
+            {"에", "jkb"}, {"로", "jkb"}, {"와", "jc"}, {"과", "jc"}, {"은", "jx"}, {"는", "jx"},
+            {"도", "jx"}, {"만", "jx"}, {"다", "ef"}
+    };
+
+    public String[] getSentences(String text) {
+        List<String> sentences = new ArrayList<String>();
+        final int length = text.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = text.charAt(i);
+            boolean end = ch == '\n' || ch == '\r'
+                    || ((ch == '.' || ch == '!' || ch == '?') && (i + 1 == length || Character.isWhitespace(text.charAt(i + 1))));
+            if (end) {
+                addSentence(text, start, i + 1, sentences);
+                start = i + 1;
+            }
+        }
+        addSentence(text, start, length, sentences);
+        return sentences.toArray(new String[sentences.size()]);
+    }
+
+    public AnalyzedSentence analyze(String text) {
+        List<String> morphs = new ArrayList<String>();
+        List<String> tags = new ArrayList<String>();
+        final int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char ch = text.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                i++;
+                continue;
+            }
+            int type = type(ch);
+            int start = i;
+            if (type == SYMBOL) {
+                i++;
+            } else {
+                while (i < length && type(text.charAt(i)) == type) {
+                    i++;
+                }
+            }
+            String run = text.substring(start, i);
+            switch (type) {
+                case HANGUL:
+                    addHangul(run, morphs, tags);
+                    break;
+                case LATIN:
+                    morphs.add(run);
+                    tags.add("sl");
+                    break;
+                case DIGIT:
+                    morphs.add(run);
+                    tags.add("sn");
+                    break;
+                default:
+                    morphs.add(run);
+                    tags.add(symbolTag(ch));
+                    break;
+            }
+        }
+        return new AnalyzedSentence(morphs.toArray(new String[morphs.size()]), tags.toArray(new String[tags.size()]));
+    }
+
+    private static final int HANGUL = 0;
+    private static final int LATIN = 1;
+    private static final int DIGIT = 2;
+    private static final int SYMBOL = 3;
+
+    private static int type(char ch) {
+        if ((ch >= '가' && ch <= '힣') || (ch >= 'ㄱ' && ch <= 'ㆎ')) {
+            return HANGUL;
+        } else if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')) {
+            return LATIN;
+        } else if (ch >= '0' && ch <= '9') {
+            return DIGIT;
+        }
+        return SYMBOL;
+    }
+
+    private static String symbolTag(char ch) {
+        switch (ch) {
+            case '.':
+            case '!':
+            case '?':
+                return "sf";
+            case ',':
+            case ';':
+            case ':':
+            case '/':
+            case '·':
+                return "sp";
+            default:
+                return "sw";
+        }
+    }
+
+    private static void addHangul(String run, List<String> morphs, List<String> tags) {
+        for (String[] suffix : SUFFIXES) {
+            if (run.length() > suffix[0].length() && run.endsWith(suffix[0])) {
+                morphs.add(run.substring(0, run.length() - suffix[0].length()));
+                tags.add("nng");
+                morphs.add(suffix[0]);
+                tags.add(suffix[1]);
+                return;
+            }
+        }
+        morphs.add(run);
+        tags.add("nng");
+    }
+
+    private static void addSentence(String text, int start, int end, List<String> sentences) {
+        String sentence = text.substring(start, end).trim();
+        if (sentence.length() > 0) {
+            sentences.add(sentence);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.skplanet.nlp.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <br>
+ *     Concurrent, Size-Bounded LRU Cache
+ * <br>
+ *     Entries are spread over lock-striped segments, each an access-ordered LinkedHashMap
+ *     evicting its least recently used entry when full, so threads hitting different segments do not contend.
+ *     Hit, miss and eviction counts are kept for monitoring.
+ * <br>
+ */
+public final class LRUCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final int capacity;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructor
+     * @param capacity maximum number of entries
+     */
+    @SuppressWarnings("unchecked")
+    public LRUCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive : " + capacity);
+        }
+        int count = 1;
+        while (count < MAX_SEGMENTS && count * 2 <= capacity) {
+            count *= 2;
+        }
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[count];
+        int segmentCapacity = (capacity + count - 1) / count;
+        for (int i = 0; i < count; i++) {
+            this.segments[i] = new Segment<K, V>(segmentCapacity, this.evictions);
+        }
+        this.capacity = segmentCapacity * count;
+    }
+
+    /**
+     * Get cached value
+     * @param key key
+     * @return value, null if not cached
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segment(key);
+        V value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+        if (value == null) {
+            this.misses.incrementAndGet();
+        } else {
+            this.hits.incrementAndGet();
+        }
+        return value;
+    }
+
+    /**
+     * Cache value, evicting the least recently used entry of its segment if full
+     * @param key key
+     * @param value value
+     */
+    public void put(K key, V value) {
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    /**
+     * Remove all entries, counters are kept
+     */
+    public void clear() {
+        for (Segment<K, V> segment : this.segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : this.segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    /**
+     * Hit ratio
+     * @return hits / lookups, 0 when never looked up
+     */
+    public double getHitRatio() {
+        long hit = getHits();
+        long total = hit + getMisses();
+        return total == 0 ? 0.0 : hit / (total * 1.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("size %d / %d, hits %d, misses %d, evictions %d, hit ratio %.3f",
+                size(), this.capacity, getHits(), getMisses(), getEvictions(), getHitRatio());
+    }
+
+    private Segment<K, V> segment(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return this.segments[h & (this.segments.length - 1)];
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final AtomicLong evictions;
+
+        Segment(int capacity, AtomicLong evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > this.capacity) {
+                this.evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.skplanet.nlp.util;
+
+/**
+ * <br>
+ *     Document Language, by Script
+ * <br>
+ *     Detection only looks at the scripts in the text, in a single pass without allocation, counting
+ *     Hangul, kana and latin letters : any Hangul makes it Korean, otherwise any kana letter makes it Japanese,
+ *     otherwise any latin letter makes it English. Text with none of them is Korean, the default.
+ *     The katakana middle dot and prolonged sound mark are not counted, Korean text uses them too.
+ * <br>
+ */
+public enum Language {
+    KOREAN("ko"),
+    JAPANESE("ja"),
+    ENGLISH("en");
+
+    // ISO 639-1 code
+    private final String code;
+
+    Language(String code) {
+        this.code = code;
+    }
+
+    /**
+     * Get language code
+     * @return ISO 639-1 code
+     */
+    public String getCode() {
+        return this.code;
+    }
+
+    /**
+     * Detect the language of a text from its scripts
+     * @param text document or sentence
+     * @return detected language, {@link #KOREAN} if no script decides
+     */
+    public static Language detect(CharSequence text) {
+        int hangul = 0;
+        int kana = 0;
+        int latin = 0;
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char ch = text.charAt(i);
+            if (ch < 0x80) {
+                if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')) {
+                    latin++;
+                }
+            } else if (isHangul(ch)) {
+                hangul++;
+            } else if (isKana(ch)) {
+                kana++;
+            }
+        }
+        if (hangul > 0) {
+            return KOREAN;
+        }
+        if (kana > 0) {
+            return JAPANESE;
+        }
+        return latin > 0 ? ENGLISH : KOREAN;
+    }
+
+    /**
+     * Hangul syllables, jamo, compatibility jamo
+     * @param ch character
+     * @return true if Hangul
+     */
+    public static boolean isHangul(char ch) {
+        return (ch >= '\uAC00' && ch <= '\uD7A3') || (ch >= '\u1100' && ch <= '\u11FF') || (ch >= '\u3130' && ch <= '\u318F');
+    }
+
+    /**
+     * Hiragana, katakana (and phonetic extensions), half-width katakana,
+     * without the middle dot and prolonged sound marks (U+30FB, U+30FC, U+FF70)
+     */
+    private static boolean isKana(char ch) {
+        return (ch >= '\u3041' && ch <= '\u309F') || (ch >= '\u30A1' && ch <= '\u30FA') || (ch >= '\u30FD' && ch <= '\u30FF')
+                || (ch >= '\u31F0' && ch <= '\u31FF') || (ch >= '\uFF66' && ch <= '\uFF6F') || (ch >= '\uFF71' && ch <= '\uFF9D');
+    }
+}
@@ -0,0 +1,28 @@
+package com.skplanet.nlp.util;
+
+/**
+ * <br>
+ *     Morphological Analyzer Interface
+ * <br>
+ *     Sentence breaking and morph / POS tag analysis used by NLPKeywordExtraction.
+ *     Implementations must be safe for concurrent use.
+ * <br>
+ */
+public interface MorphAnalyzer {
+
+    /**
+     * Get Sentences from given text, possibly composed of multiple sentences
+     *
+     * @param text Text to be splited into single sentences
+     * @return array of sentences
+     */
+    String[] getSentences(String text);
+
+    /**
+     * Analyze given text, keeping morph text and POS tag together
+     *
+     * @param text Text to be nlp-analyzed
+     * @return morphs and POS-Tags of the text
+     */
+    AnalyzedSentence analyze(String text);
+}
@@ -7,35 +7,60 @@ import com.skplanet.nlp.NLPAPI;
 import com.skplanet.nlp.NLPDoc;
 import com.skplanet.nlp.morph.Morphs;
 
+import java.io.IOException;
+
 /**
- * NLP-Indexterm based NLP Utilities (Singleton)
+ * NLP-Indexterm based NLP Utilities
+ * - NLPAPI backed {@link MorphAnalyzer}, each instance owning its own NLPAPI
+ * - {@link #getInstance()} : one shared instance, for single threaded use only
+ * - {@link #getPool(int, long)} : shared pool of instances, one thread per instance at a time
  */
-public class OMPNLP {
+public class OMPNLP implements MorphAnalyzer {
 	private static Logger logger = Logger.getLogger(OMPNLP.class.getName());
 	private static final String configName = "nlp_api.properties";
 
-	private static OMPNLP instance = null;
+	// shared pool, created by the first getPool() call
+	private static AnalyzerPool pool = null;
+
+	private final NLPAPI nlpApi;
 
-	private static NLPAPI nlpApi = null;
+	// lazily created on first use, class initialization guarantees a single instance
+	private static final class Holder {
+		private static final OMPNLP INSTANCE = new OMPNLP();
+	}
 
 	/**
 	 * Get Instance
 	 * @return instance of NLP Class
 	 */
 	public static OMPNLP getInstance() {
-		if (instance == null) {
-			// method synchronized
-			synchronized (OMPNLP.class) {
-				instance = new OMPNLP();
-			}
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * Get the shared analyzer pool, creating and warming it up on the first call
+	 * @param size number of NLPAPI instances, only used by the first call
+	 * @param timeoutMillis longest wait for a free instance, only used by the first call
+	 * @return analyzer pool
+	 */
+	public static synchronized AnalyzerPool getPool(int size, long timeoutMillis) throws IOException {
+		if (pool == null) {
+			pool = new AnalyzerPool("OMPNLP", new AnalyzerPool.Factory() {
+				public MorphAnalyzer newAnalyzer() {
+					return new OMPNLP();
+				}
+			}, size, timeoutMillis);
+			pool.register();
+		} else if (pool.getSize() != size) {
+			logger.warn("analyzer pool already created with " + pool.getSize() + " instances, requested " + size);
 		}
-		return instance;
+		return pool;
 	}
 
 	// private constructor
 	private OMPNLP() {
 		logger.info("NLP initializing ....");
-		nlpApi = new NLPAPI(configName, Configuration.CLASSPATH_LOAD);
+		this.nlpApi = new NLPAPI(configName, Configuration.CLASSPATH_LOAD);
 		logger.info("NLP initializing done");
 	}
 
@@ -51,6 +76,25 @@ public class OMPNLP {
 		return nlpApi.doSegmenting(text);
 	}
 
+	/**
+	 * Analyze given text once, keeping morph text and POS tag together
+	 *
+	 * @param text Text to be nlp-analyzed
+	 * @return morphs and POS-Tags of the text
+	 */
+	public AnalyzedSentence analyze(String text) {
+		NLPDoc nlpRes = nlpApi.doNLP(text);
+		Morphs morphs = nlpRes.getMorphs();
+		int count = morphs.getCount();
+		String [] texts = new String[count];
+		String [] tags = new String[count];
+		for(int i = 0; i < count; i++) {
+			texts[i] = morphs.getMorph(i).getTextStr();
+			tags[i] = morphs.getMorph(i).getPosStr();
+		}
+		return new AnalyzedSentence(texts, tags);
+	}
+
 	/**
 	 * Get Morph List from given text
 	 *
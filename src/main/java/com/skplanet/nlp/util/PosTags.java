@@ -0,0 +1,72 @@
+package com.skplanet.nlp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <br>
+ *     POS Tag Ids
+ * <br>
+ *     Maps POS tag names to small dense integer ids, so tag sets can be held in a {@link java.util.BitSet}.
+ *     The NLPAPI (Sejong) tag set is registered up front, any other tag gets the next free id the first time
+ *     it is seen. Ids are stable for the life of the JVM, never persist them.
+ *     Thread-safe.
+ * <br>
+ */
+public final class PosTags {
+
+    // NLPAPI tag set, in id order
+    private static final String[] KNOWN = {
+            "nng", "nnp", "nnb", "nr", "np",
+            "vv", "va", "vx", "vcp", "vcn", "vvc", "vac",
+            "mm", "mag", "maj", "ic",
+            "jks", "jkc", "jkg", "jko", "jkb", "jkv", "jkq", "jx", "jc",
+            "ep", "ef", "ec", "etn", "etm",
+            "xpn", "xp", "xsn", "xsv", "xsa", "xr",
+            "sf", "sp", "ss", "se", "so", "sw", "sh", "sl", "sn", "sd",
+            "etc", "emo", "njm", "unk", "chn", "jpn"
+    };
+
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<String, Integer>();
+    // tag name by id, guarded by the class lock
+    private static final List<String> NAMES = new ArrayList<String>();
+
+    static {
+        for (String tag : KNOWN) {
+            register(tag);
+        }
+    }
+
+    private PosTags() {
+    }
+
+    /**
+     * Get tag id, registering the tag if unknown
+     * @param tag pos tag
+     * @return tag id, 0 or more
+     */
+    public static int id(String tag) {
+        Integer id = IDS.get(tag);
+        return id != null ? id : register(tag);
+    }
+
+    /**
+     * Get tag name
+     * @param id tag id
+     * @return pos tag
+     */
+    public static synchronized String name(int id) {
+        return NAMES.get(id);
+    }
+
+    private static synchronized int register(String tag) {
+        Integer id = IDS.get(tag);
+        if (id == null) {
+            id = NAMES.size();
+            NAMES.add(tag);
+            IDS.put(tag, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,95 @@
+package com.skplanet.nlp.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * <br>
+ *     Bounded Sentence Chunk Reader
+ * <br>
+ *     Reads text through a fixed size buffer and hands it out in chunks that end at a sentence boundary :
+ *     after the last terminator followed by whitespace (or after a terminator that is whitespace itself, e.g. a line break).
+ *     A buffer without any boundary is cut after its last whitespace, or at the buffer end as the last resort.
+ *     Memory stays bounded by the buffer capacity whatever the length of the text.
+ *     Not thread-safe.
+ * <br>
+ */
+public final class SentenceReader implements Closeable {
+
+    public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    private final Reader in;
+    private final char[] buffer;
+    private final String terminators;
+    private int length = 0;
+    private boolean eof = false;
+
+    /**
+     * Constructor
+     * @param in text source
+     * @param capacity buffer capacity, maximum chunk length
+     * @param terminators characters ending a sentence
+     */
+    public SentenceReader(Reader in, int capacity, String terminators) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity too small : " + capacity);
+        }
+        this.in = in;
+        this.buffer = new char[capacity];
+        this.terminators = terminators;
+    }
+
+    /**
+     * Next chunk of text
+     * @return chunk ending at a sentence boundary, null at the end of the text
+     */
+    public String next() throws IOException {
+        while (!this.eof && this.length < this.buffer.length) {
+            int n = this.in.read(this.buffer, this.length, this.buffer.length - this.length);
+            if (n < 0) {
+                this.eof = true;
+            } else {
+                this.length += n;
+            }
+        }
+        if (this.length == 0) {
+            return null;
+        }
+
+        final int cut = this.eof ? this.length : boundary();
+        String chunk = new String(this.buffer, 0, cut);
+        System.arraycopy(this.buffer, cut, this.buffer, 0, this.length - cut);
+        this.length -= cut;
+        return chunk;
+    }
+
+    public void close() throws IOException {
+        this.in.close();
+    }
+
+    /**
+     * End of the last complete sentence in the full buffer
+     */
+    private int boundary() {
+        // sentence terminator
+        for (int i = this.length - 2; i >= 0; i--) {
+            char ch = this.buffer[i];
+            if (this.terminators.indexOf(ch) >= 0
+                    && (Character.isWhitespace(ch) || Character.isWhitespace(this.buffer[i + 1]))) {
+                return i + 1;
+            }
+        }
+        // word boundary
+        for (int i = this.length - 1; i > 0; i--) {
+            if (Character.isWhitespace(this.buffer[i])) {
+                return i + 1;
+            }
+        }
+        // no boundary at all, do not split a surrogate pair
+        if (Character.isHighSurrogate(this.buffer[this.length - 1])) {
+            return this.length - 1;
+        }
+        return this.length;
+    }
+}
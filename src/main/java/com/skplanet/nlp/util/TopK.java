@@ -0,0 +1,79 @@
+package com.skplanet.nlp.util;
+
+import java.util.*;
+
+/**
+ * <br>
+ *     Bounded Top-K Keyword Selector
+ * <br>
+ *     Keeps the K best (keyword, score) pairs in a min-heap while they are offered, O(n log k).
+ *     Ranking is by descending score, ties broken by ascending keyword, so the result is deterministic.
+ *     A keyword offered more than once is kept once; its score must be the same each time.
+ *     Not thread-safe.
+ * <br>
+ */
+public final class TopK {
+
+    /**
+     * Ranking order : higher score first, then keyword in natural order
+     */
+    public static final Comparator<Map.Entry<String, Double>> RANK = new Comparator<Map.Entry<String, Double>>() {
+        public int compare(Map.Entry<String, Double> o1, Map.Entry<String, Double> o2) {
+            int c = Double.compare(o2.getValue(), o1.getValue());
+            return c != 0 ? c : o1.getKey().compareTo(o2.getKey());
+        }
+    };
+
+    private final int k;
+    // worst ranked entry on top
+    private final PriorityQueue<Map.Entry<String, Double>> heap;
+    // keywords currently in the heap
+    private final Set<String> members;
+
+    /**
+     * Constructor
+     * @param k maximum number of keywords to keep
+     */
+    public TopK(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive : " + k);
+        }
+        this.k = k;
+        this.heap = new PriorityQueue<Map.Entry<String, Double>>(Math.min(k, 1024), Collections.reverseOrder(RANK));
+        this.members = new HashSet<String>();
+    }
+
+    /**
+     * Offer a keyword
+     * @param keyword keyword
+     * @param score keyword score
+     */
+    public void offer(String keyword, double score) {
+        if (this.members.contains(keyword)) {
+            return;
+        }
+        Map.Entry<String, Double> entry = new AbstractMap.SimpleImmutableEntry<String, Double>(keyword, score);
+        if (this.heap.size() < this.k) {
+            this.heap.add(entry);
+            this.members.add(keyword);
+        } else if (RANK.compare(entry, this.heap.peek()) < 0) {
+            this.members.remove(this.heap.poll().getKey());
+            this.heap.add(entry);
+            this.members.add(keyword);
+        }
+    }
+
+    /**
+     * Ranked result
+     * @return selected keywords, best first
+     */
+    public LinkedHashMap<String, Double> result() {
+        List<Map.Entry<String, Double>> entries = new ArrayList<Map.Entry<String, Double>>(this.heap);
+        Collections.sort(entries, RANK);
+        LinkedHashMap<String, Double> result = new LinkedHashMap<String, Double>();
+        for (Map.Entry<String, Double> entry : entries) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+}
@@ -17,31 +17,44 @@ public final class Utility {
 
     /**
      * Sort Keyword by Score
+     * - keeps the top third of the candidates, all of them if fewer than three
      * @param keywordCandidates keyword list to be sorted
      * @return sorted keyword map
      */
     public static LinkedHashMap<String, Double> sort(Map<String, Double> keywordCandidates) {
+        int topK = keywordCandidates.size() / 3;
+        if (topK == 0) {
+            topK = keywordCandidates.size();
+        }
+        return top(keywordCandidates, topK);
+    }
 
-        final LinkedHashMap<String, Double> sortedKeyWordCandidates = new LinkedHashMap<String, Double>();
-        int totaKeyWordCandidates = keywordCandidates.size();
-        final List<Map.Entry<String, Double>> keyWordCandidatesAsList =
-                new LinkedList<Map.Entry<String, Double>>(keywordCandidates.entrySet());
-
-        Collections.sort(keyWordCandidatesAsList, new Comparator() {
-            public int compare(Object o1, Object o2) {
-                return ((Map.Entry<String, Double>) o2).getValue().compareTo(((Map.Entry<String, Double>) o1).getValue());
-            }
-        });
-
-        totaKeyWordCandidates = totaKeyWordCandidates / 3;
-        for (final Map.Entry<String, Double> entry : keyWordCandidatesAsList) {
-            sortedKeyWordCandidates.put(entry.getKey(), entry.getValue());
-            if (--totaKeyWordCandidates == 0) {
-                break;
-            }
+    /**
+     * Select Top Keywords by Score
+     * - heap-based partial selection, ties broken by keyword
+     * @param keywordCandidates keyword and score pair
+     * @param topK maximum number of keywords
+     * @return top keywords, best first
+     */
+    public static LinkedHashMap<String, Double> top(Map<String, Double> keywordCandidates, int topK) {
+        if (keywordCandidates.size() == 0 || topK < 1) {
+            return new LinkedHashMap<String, Double>();
+        }
+        TopK selector = new TopK(Math.min(topK, keywordCandidates.size()));
+        for (Map.Entry<String, Double> entry : keywordCandidates.entrySet()) {
+            selector.offer(entry.getKey(), entry.getValue());
         }
+        return selector.result();
+    }
 
-        return sortedKeyWordCandidates;
+    /**
+     * Select Top Keywords by Score Ratio
+     * @param keywordCandidates keyword and score pair
+     * @param ratio fraction of the candidates to keep, at least one is kept
+     * @return top keywords, best first
+     */
+    public static LinkedHashMap<String, Double> top(Map<String, Double> keywordCandidates, double ratio) {
+        return top(keywordCandidates, Math.max(1, (int) (keywordCandidates.size() * ratio)));
     }
 
 }